@@ -0,0 +1,43 @@
+#!/usr/bin/env bash
+# Runs the same k6 scenario against the default (platform thread) mode, the virtual-threads profile and the
+# WebFlux/R2DBC reactive profile and keeps the k6 summaries side by side under load-test/results. Requires a running
+# Postgres from application.yml and k6.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+VUS="${VUS:-10000}"
+# Every lookup must reach the database from the request thread, or the modes are compared on cache hits or on the
+# batch loader's virtual threads instead of blocking JDBC: the user cache is switched off, identical concurrent lookups
+# are not merged and lookups are not batched. Override APP_ARGS to measure those layers.
+APP_ARGS="${APP_ARGS:---spring.cache.type=none --app.users.lookup-coalescing.enabled=false \
+--app.users.lookup.batch.enabled=false}"
+RESULTS=load-test/results
+mkdir -p "$RESULTS"
+
+./mvnw -B -q -DskipTests package
+JAR=$(ls target/spring-turing-experience-*.jar | grep -v original | head -n 1)
+
+run_mode() {
+    local mode=$1 profiles=$2
+    echo "== $mode"
+    # shellcheck disable=SC2086
+    java -Djdk.tracePinnedThreads=short -jar "$JAR" --spring.profiles.active="$profiles" $APP_ARGS \
+        > "$RESULTS/$mode-app.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' RETURN
+    until curl -sf http://localhost:8080/actuator/health > /dev/null; do sleep 1; done
+    k6 run -e VUS="$VUS" --summary-export "$RESULTS/$mode-summary.json" load-test/users-lookup.js
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+}
+
+run_mode platform-threads default
+run_mode virtual-threads virtual-threads
+run_mode reactive reactive
+
+for mode in platform-threads virtual-threads reactive; do
+    echo "$mode: $(jq -r '.metrics.http_reqs.rate as $rps | .metrics.http_req_duration as $d
+        | "\($rps | floor) req/s, p99 \($d["p(99)"]) ms, max \($d.max) ms"' "$RESULTS/$mode-summary.json")"
+done
+# -Djdk.tracePinnedThreads marks frames holding a monitor while a virtual thread blocked; expect zero.
+echo "pinned stack frames: $(grep -c '<== monitors' "$RESULTS/virtual-threads-app.log" || true)"
@@ -0,0 +1,31 @@
+import http from 'k6/http';
+import { check } from 'k6';
+
+// Ramps to VUS concurrent connections hammering the hot lookup endpoint.
+// Usernames are expected to exist, e.g. seeded through POST /api/v1/users/import. Run the app with the user cache
+// off (compare-thread-modes.sh does), otherwise USERS fits in the cache and only the first pass reaches the database.
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = parseInt(__ENV.VUS || '10000');
+const USERS = parseInt(__ENV.USERS || '10000');
+
+export const options = {
+    scenarios: {
+        lookups: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: VUS },
+                { duration: '2m', target: VUS },
+                { duration: '15s', target: 0 },
+            ],
+            gracefulRampDown: '10s',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export default function () {
+    const username = `user${Math.floor(Math.random() * USERS)}@example.com`;
+    const res = http.get(`${BASE_URL}/api/v1/users/${encodeURIComponent(username)}`);
+    check(res, { 'status is 200': (r) => r.status === 200 });
+}
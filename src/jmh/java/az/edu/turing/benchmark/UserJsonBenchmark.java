@@ -0,0 +1,53 @@
+package az.edu.turing.benchmark;
+
+import az.edu.turing.model.dto.UserDto;
+import az.edu.turing.model.dto.response.UserPageResponse;
+import az.edu.turing.model.enums.UserStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserJsonBenchmark {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private UserDto user;
+    private UserPageResponse page;
+
+    @Setup
+    public void setUp() {
+        user = user(1);
+        page = UserPageResponse.builder()
+                .users(LongStream.rangeClosed(1, 50).mapToObj(UserJsonBenchmark::user).toList())
+                .nextCursor(50L)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serializeUser() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] serializePageOf50() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    private static UserDto user(long id) {
+        return UserDto.builder()
+                .id(id)
+                .username("user" + id + "@example.com")
+                .status(UserStatus.ACTIVATE)
+                .build();
+    }
+}
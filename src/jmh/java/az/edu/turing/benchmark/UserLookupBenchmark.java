@@ -0,0 +1,91 @@
+package az.edu.turing.benchmark;
+
+import az.edu.turing.domain.entity.UserEntity;
+import az.edu.turing.domain.repository.JdbcTemplateUserRepository;
+import az.edu.turing.mapper.UserDtoRowMapper;
+import az.edu.turing.mapper.UserRowMapper;
+import az.edu.turing.model.enums.UserStatus;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Username lookup latency on a migrated {@code user_table} with {@code rows} users, with the migration indexes in
+ * place ({@code indexed}) and dropped ({@code none}) to show what a sequential scan costs at that size.
+ * Seeding 10M rows takes a minute or two per trial; pass {@code -p rows=100000} for a quick run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserLookupBenchmark {
+
+    @Param({"10000000"})
+    public int rows;
+
+    @Param({"indexed", "none"})
+    public String indexes;
+
+    private EmbeddedPostgres postgres;
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplateUserRepository userRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        dataSource = new SingleConnectionDataSource(postgres.getJdbcUrl("postgres", "postgres"), "postgres", "", true);
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        if ("none".equals(indexes)) {
+            dropUsernameIndexes(jdbcTemplate);
+        }
+        jdbcTemplate.update("""
+                INSERT INTO user_table (username, password, status)
+                SELECT 'user' || g || '@example.com', 'Root123!', ?
+                FROM generate_series(1, ?) AS g
+                """, UserStatus.ACTIVATE.getCode(), rows);
+        jdbcTemplate.execute("VACUUM ANALYZE user_table");
+        userRepository = new JdbcTemplateUserRepository(jdbcTemplate, new UserRowMapper(), new UserDtoRowMapper());
+    }
+
+    /**
+     * Drops every index that covers {@code username}, the search indexes included: the {@code text_pattern_ops}
+     * btree also serves equality and would hide the sequential scan.
+     */
+    private static void dropUsernameIndexes(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.queryForList("""
+                        SELECT DISTINCT i.indexrelid::regclass::text
+                        FROM pg_index i
+                        JOIN pg_attribute a ON a.attrelid = i.indrelid AND a.attnum = ANY (i.indkey)
+                        WHERE i.indrelid = 'user_table'::regclass AND a.attname = 'username'
+                        """, String.class)
+                .forEach(index -> jdbcTemplate.execute("DROP INDEX " + index));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        dataSource.destroy();
+        postgres.close();
+    }
+
+    @Benchmark
+    public Optional<UserEntity> findExistingUsername() {
+        int user = ThreadLocalRandom.current().nextInt(1, rows + 1);
+        return userRepository.findByUsername("user" + user + "@example.com");
+    }
+
+    @Benchmark
+    public Optional<UserEntity> findMissingUsername() {
+        return userRepository.findByUsername("missing" + ThreadLocalRandom.current().nextInt() + "@example.com");
+    }
+}
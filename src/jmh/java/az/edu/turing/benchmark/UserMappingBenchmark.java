@@ -0,0 +1,83 @@
+package az.edu.turing.benchmark;
+
+import az.edu.turing.domain.entity.UserEntity;
+import az.edu.turing.mapper.UserMapper;
+import az.edu.turing.mapper.UserRowMapper;
+import az.edu.turing.model.dto.UserDto;
+import az.edu.turing.model.dto.request.CreateUserRequest;
+import az.edu.turing.model.enums.UserStatus;
+import org.openjdk.jmh.annotations.*;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserMappingBenchmark {
+
+    private final UserMapper userMapper = new UserMapper();
+    private final UserRowMapper rowMapper = new UserRowMapper();
+
+    private UserEntity userEntity;
+    private CreateUserRequest createUserRequest;
+    private CachedRowSet row;
+
+    @Setup
+    public void setUp() throws SQLException {
+        userEntity = UserEntity.builder()
+                .id(1L)
+                .username("root@gmail.com")
+                .password("Root123!")
+                .status(UserStatus.ACTIVATE)
+                .build();
+        createUserRequest = CreateUserRequest.builder()
+                .username("root@gmail.com")
+                .password("Root123!")
+                .confirmPassword("Root123!")
+                .build();
+
+        RowSetMetaDataImpl metaData = new RowSetMetaDataImpl();
+        metaData.setColumnCount(4);
+        metaData.setColumnName(1, "id");
+        metaData.setColumnType(1, Types.BIGINT);
+        metaData.setColumnName(2, "username");
+        metaData.setColumnType(2, Types.VARCHAR);
+        metaData.setColumnName(3, "password");
+        metaData.setColumnType(3, Types.VARCHAR);
+        metaData.setColumnName(4, "status");
+        metaData.setColumnType(4, Types.SMALLINT);
+        row = RowSetProvider.newFactory().createCachedRowSet();
+        row.setMetaData(metaData);
+        row.moveToInsertRow();
+        row.updateLong(1, userEntity.getId());
+        row.updateString(2, userEntity.getUsername());
+        row.updateString(3, userEntity.getPassword());
+        row.updateShort(4, userEntity.getStatus().getCode());
+        row.insertRow();
+        row.moveToCurrentRow();
+    }
+
+    @Benchmark
+    public UserDto toDto() {
+        return userMapper.toDto(userEntity);
+    }
+
+    @Benchmark
+    public UserEntity toEntity() {
+        return userMapper.toEntity(createUserRequest, userEntity.getPassword());
+    }
+
+    @Benchmark
+    public UserEntity mapRow() throws SQLException {
+        row.absolute(1);
+        return rowMapper.mapRow(row, 1);
+    }
+}
@@ -0,0 +1,104 @@
+package az.edu.turing.benchmark;
+
+import az.edu.turing.SpringTuringExperienceApplication;
+import az.edu.turing.domain.entity.UserEntity;
+import az.edu.turing.domain.repository.PostgresUserRepository;
+import az.edu.turing.mapper.UserDtoRowMapper;
+import az.edu.turing.mapper.UserMapper;
+import az.edu.turing.mapper.UserRowMapper;
+import az.edu.turing.model.dto.UserDto;
+import az.edu.turing.model.enums.UserStatus;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A page of 50 users read as entities and mapped to {@link UserDto} ({@code *Entities}) against the same page
+ * projected straight from SQL ({@code *Projection}), over JDBC and JPA. Run with {@code -prof gc} and compare
+ * {@code gc.alloc.rate.norm}: the projections skip the password column and, for JPA, the persistence-context
+ * snapshot of every managed entity.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserProjectionBenchmark {
+
+    private static final int SEEDED_USERS = 10_000;
+    private static final int PAGE_SIZE = 50;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private PostgresUserRepository postgresUserRepository;
+    private UserMapper userMapper;
+    private final UserRowMapper userRowMapper = new UserRowMapper();
+    private final UserDtoRowMapper userDtoRowMapper = new UserDtoRowMapper();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        context = new SpringApplicationBuilder(SpringTuringExperienceApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=",
+                        "--logging.level.root=warn");
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        postgresUserRepository = context.getBean(PostgresUserRepository.class);
+        userMapper = context.getBean(UserMapper.class);
+        jdbcTemplate.update("""
+                INSERT INTO user_table (username, password, status)
+                SELECT 'user' || g || '@example.com', 'Root123!', ?
+                FROM generate_series(1, ?) AS g
+                """, UserStatus.ACTIVATE.getCode(), SEEDED_USERS);
+        jdbcTemplate.execute("VACUUM ANALYZE user_table");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public List<UserDto> jdbcEntities() {
+        return jdbcTemplate.query("SELECT * FROM user_table WHERE id > ? ORDER BY id LIMIT ?", userRowMapper,
+                        cursor(), PAGE_SIZE).stream()
+                .map(userMapper::toDto)
+                .toList();
+    }
+
+    @Benchmark
+    public List<UserDto> jdbcProjection() {
+        return jdbcTemplate.query("SELECT " + UserDtoRowMapper.COLUMNS
+                + " FROM user_table WHERE id > ? ORDER BY id LIMIT ?", userDtoRowMapper, cursor(), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<UserDto> jpaEntities() {
+        List<UserEntity> userEntities = postgresUserRepository.findByIdGreaterThanOrderByIdAsc(cursor(),
+                Limit.of(PAGE_SIZE));
+        return userEntities.stream().map(userMapper::toDto).toList();
+    }
+
+    @Benchmark
+    public List<UserDto> jpaProjection() {
+        return postgresUserRepository.findDtoByIdGreaterThanOrderByIdAsc(cursor(), Limit.of(PAGE_SIZE));
+    }
+
+    private static long cursor() {
+        return ThreadLocalRandom.current().nextInt(SEEDED_USERS - PAGE_SIZE);
+    }
+}
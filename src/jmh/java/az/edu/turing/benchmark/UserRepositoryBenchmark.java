@@ -0,0 +1,104 @@
+package az.edu.turing.benchmark;
+
+import az.edu.turing.SpringTuringExperienceApplication;
+import az.edu.turing.domain.entity.UserEntity;
+import az.edu.turing.domain.repository.UserRepository;
+import az.edu.turing.domain.repository.UserStatusUpdate;
+import az.edu.turing.model.dto.UserDto;
+import az.edu.turing.model.enums.UserStatus;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Runs the same calls against each {@link UserRepository} implementation selected through
+ * {@code app.users.repository}, so the per-call overhead of the JDBC, JPA and in-memory paths can be compared
+ * directly. Seeding goes through the port too, so every implementation starts from the same users.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserRepositoryBenchmark {
+
+    private static final int SEEDED_USERS = 10_000;
+
+    @Param({"jdbc", "jpa", "memory"})
+    public String repository;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private final AtomicLong createdUsers = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        context = new SpringApplicationBuilder(SpringTuringExperienceApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=",
+                        "--app.users.repository=" + repository,
+                        "--logging.level.root=warn");
+        userRepository = context.getBean(UserRepository.class);
+        userRepository.insertAllIfAbsent(IntStream.rangeClosed(1, SEEDED_USERS)
+                .mapToObj(user -> UserEntity.builder()
+                        .username("user" + user + "@example.com")
+                        .password("Root123!")
+                        .status(UserStatus.ACTIVATE)
+                        .build())
+                .toList());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public Optional<UserEntity> findByUsername() {
+        int user = ThreadLocalRandom.current().nextInt(1, SEEDED_USERS + 1);
+        return userRepository.findByUsername("user" + user + "@example.com");
+    }
+
+    @Benchmark
+    public List<UserDto> findPageOf50() {
+        return userRepository.findPage(ThreadLocalRandom.current().nextInt(SEEDED_USERS - 50), 50);
+    }
+
+    @Benchmark
+    public Optional<UserEntity> insertIfAbsent() {
+        return userRepository.insertIfAbsent(UserEntity.builder()
+                .username("created" + createdUsers.incrementAndGet() + "@example.com")
+                .password("Root123!")
+                .status(UserStatus.ACTIVATE)
+                .build());
+    }
+
+    @Benchmark
+    public Optional<UserStatusUpdate> updateStatus() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return userRepository.updateStatus(random.nextInt(1, SEEDED_USERS + 1),
+                random.nextBoolean() ? UserStatus.ACTIVATE : UserStatus.INACTIVATE);
+    }
+
+    @Benchmark
+    public Optional<UserEntity> update() {
+        int user = ThreadLocalRandom.current().nextInt(1, SEEDED_USERS + 1);
+        return userRepository.update(user, "user" + user + "@example.com", "Root123!");
+    }
+}
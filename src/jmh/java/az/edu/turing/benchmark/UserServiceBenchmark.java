@@ -0,0 +1,90 @@
+package az.edu.turing.benchmark;
+
+import az.edu.turing.SpringTuringExperienceApplication;
+import az.edu.turing.cache.UsernameBloomFilter;
+import az.edu.turing.model.dto.UserDto;
+import az.edu.turing.model.dto.request.CreateUserRequest;
+import az.edu.turing.model.dto.response.UserPageResponse;
+import az.edu.turing.model.enums.UserStatus;
+import az.edu.turing.service.UserService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end {@link UserService} calls against an embedded PostgreSQL, with the cache on ({@code caffeine}) and off
+ * ({@code none}) so both the hit path and the query path are measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserServiceBenchmark {
+
+    private static final int SEEDED_USERS = 10_000;
+
+    @Param({"caffeine", "none"})
+    public String cacheType;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private final AtomicLong createdUsers = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        context = new SpringApplicationBuilder(SpringTuringExperienceApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.cache.type=" + cacheType,
+                        "--logging.level.root=warn");
+        context.getBean(JdbcTemplate.class).update("""
+                INSERT INTO user_table (username, password, status)
+                SELECT 'user' || g || '@example.com', 'Root123!', ?
+                FROM generate_series(1, ?) AS g
+                """, UserStatus.ACTIVATE.getCode(), SEEDED_USERS);
+        context.getBean(UsernameBloomFilter.class).rebuild();
+        userService = context.getBean(UserService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public UserDto findByUsername() {
+        int user = ThreadLocalRandom.current().nextInt(1, SEEDED_USERS + 1);
+        return userService.findByUsername("user" + user + "@example.com");
+    }
+
+    @Benchmark
+    public UserPageResponse findAllPageOf50() {
+        return userService.findAll(ThreadLocalRandom.current().nextInt(SEEDED_USERS - 50), 50);
+    }
+
+    @Benchmark
+    public UserDto create() {
+        String username = "created" + createdUsers.incrementAndGet() + "@example.com";
+        return userService.create(CreateUserRequest.builder()
+                .username(username)
+                .password("Root123!")
+                .confirmPassword("Root123!")
+                .build());
+    }
+}
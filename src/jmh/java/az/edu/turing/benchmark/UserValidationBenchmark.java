@@ -0,0 +1,67 @@
+package az.edu.turing.benchmark;
+
+import az.edu.turing.model.dto.request.CreateUserRequest;
+import az.edu.turing.model.dto.request.UpdateUserRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+
+    private final CreateUserRequest validCreateRequest = CreateUserRequest.builder()
+            .username("root@gmail.com")
+            .password("Root123!")
+            .confirmPassword("Root123!")
+            .build();
+
+    private final CreateUserRequest invalidCreateRequest = CreateUserRequest.builder()
+            .username("root")
+            .password("password-without-digits")
+            .confirmPassword("password-without-digits")
+            .build();
+
+    private final UpdateUserRequest updateRequest = UpdateUserRequest.builder()
+            .username("test@gmail.com")
+            .password("Test123!")
+            .build();
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateUserRequest>> validCreateRequest() {
+        return validator.validate(validCreateRequest);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateUserRequest>> invalidCreateRequest() {
+        return validator.validate(invalidCreateRequest);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UpdateUserRequest>> updateRequest() {
+        return validator.validate(updateRequest);
+    }
+}
@@ -0,0 +1,98 @@
+package az.edu.turing.cache;
+
+import az.edu.turing.model.dto.UserDto;
+import com.google.common.util.concurrent.Striped;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Read-through cache for single-user lookups, backed by whatever {@link CacheManager} is configured
+ * ({@code spring.cache.*}). Users are stored once by id; the username cache only maps a username to an id, so a rename
+ * never needs the old username: a username entry pointing at a user that no longer carries it is dropped on read.
+ * <p>
+ * Inside a transaction, puts wait until it commits, so a rolled-back write never reaches the cache and no reader sees a
+ * row before the database does. A put never replaces a user with a lower {@code version}: a reader that loaded a row
+ * before a concurrent write cannot overwrite the newer row that write cached. There is no eviction for that reason;
+ * writers, deletes included, put the row they wrote.
+ */
+@RequiredArgsConstructor
+@Component
+public class UserCache {
+
+    public static final String USERS_BY_ID = "usersById";
+    public static final String USER_IDS_BY_USERNAME = "userIdsByUsername";
+
+    private final CacheManager cacheManager;
+    private final Striped<Lock> locks = Striped.lock(64);
+
+    public Optional<UserDto> findById(long id) {
+        return Optional.ofNullable(users().get(id, UserDto.class));
+    }
+
+    public Optional<UserDto> findByUsername(String username) {
+        Long id = userIds().get(username, Long.class);
+        if (id == null) {
+            return Optional.empty();
+        }
+        Optional<UserDto> user = findById(id);
+        if (user.isEmpty() || !username.equals(user.get().username())) {
+            userIds().evict(username);
+            return Optional.empty();
+        }
+        return user;
+    }
+
+    public void put(UserDto user) {
+        afterCommit(() -> store(user));
+    }
+
+    /**
+     * The version check and the put share a lock per id; with a cache shared between instances another instance can
+     * still interleave, which only costs an entry that is one write behind until it expires or is evicted.
+     */
+    private void store(UserDto user) {
+        Lock lock = locks.get(user.id());
+        lock.lock();
+        try {
+            UserDto cached = users().get(user.id(), UserDto.class);
+            if (cached != null && cached.version() != null && user.version() != null
+                    && cached.version() > user.version()) {
+                return;
+            }
+            users().put(user.id(), user);
+            userIds().put(user.username(), user.id());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private Cache users() {
+        return Objects.requireNonNull(cacheManager.getCache(USERS_BY_ID), USERS_BY_ID + " cache is not configured");
+    }
+
+    private Cache userIds() {
+        return Objects.requireNonNull(cacheManager.getCache(USER_IDS_BY_USERNAME),
+                USER_IDS_BY_USERNAME + " cache is not configured");
+    }
+}
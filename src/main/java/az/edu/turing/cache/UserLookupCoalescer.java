@@ -0,0 +1,145 @@
+package az.edu.turing.cache;
+
+import az.edu.turing.config.properties.LookupCoalescingProperties;
+import az.edu.turing.domain.entity.UserEntity;
+import az.edu.turing.exception.ServiceUnavailableException;
+import az.edu.turing.model.dto.UserDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Single-flight for username lookups: while one caller is loading a username, others asking for the same username wait
+ * for that result instead of issuing their own query. Lookups of the stored row (password verification) and of the
+ * public {@link UserDto} are tracked apart, since one cannot answer the other.
+ * <p> A write bumps the write epoch through {@link #invalidateAll()}, and a lookup only joins a call started in the
+ * current epoch, so a caller that already saw a write never receives a result read before it. A failed lookup fails
+ * every caller that joined it with the same exception; nothing is remembered once a call completes.
+ */
+@Component
+public class UserLookupCoalescer {
+
+    private final LookupCoalescingProperties properties;
+    private final Map<String, Call<UserEntity>> rowsInFlight = new ConcurrentHashMap<>();
+    private final Map<String, Call<UserDto>> usersInFlight = new ConcurrentHashMap<>();
+    private final AtomicLong writeEpoch = new AtomicLong();
+    private final Counter leaderLookups;
+    private final Counter coalescedLookups;
+    private final Counter timedOutLookups;
+
+    public UserLookupCoalescer(LookupCoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.leaderLookups = Counter.builder("users.lookup.coalescing")
+                .description("Username lookups that queried (leader) or joined a query in flight (coalesced)")
+                .tag("outcome", "leader")
+                .register(meterRegistry);
+        this.coalescedLookups = Counter.builder("users.lookup.coalescing")
+                .description("Username lookups that queried (leader) or joined a query in flight (coalesced)")
+                .tag("outcome", "coalesced")
+                .register(meterRegistry);
+        this.timedOutLookups = Counter.builder("users.lookup.coalescing.timeouts")
+                .description("Coalesced lookups that gave up waiting for the query in flight")
+                .register(meterRegistry);
+        Gauge.builder("users.lookup.coalescing.in.flight", this,
+                        coalescer -> coalescer.rowsInFlight.size() + coalescer.usersInFlight.size())
+                .description("Usernames with a lookup in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code lookup} on the calling thread unless the same username is already being looked up, in which case it
+     * waits for that result.
+     *
+     * @throws ServiceUnavailableException when the lookup in flight does not finish within the configured timeout
+     */
+    public Optional<UserEntity> findByUsername(String username, Function<String, Optional<UserEntity>> lookup) {
+        return coalesce(rowsInFlight, username, lookup);
+    }
+
+    /**
+     * Same as {@link #findByUsername}, for lookups that only need the public view of the user.
+     *
+     * @throws ServiceUnavailableException when the lookup in flight does not finish within the configured timeout
+     */
+    public Optional<UserDto> findUserByUsername(String username, Function<String, Optional<UserDto>> lookup) {
+        return coalesce(usersInFlight, username, lookup);
+    }
+
+    /**
+     * Lookups started after the current transaction commits, or right away outside a transaction, no longer join
+     * calls that may have read before the write.
+     */
+    public void invalidateAll() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    writeEpoch.incrementAndGet();
+                }
+            });
+        } else {
+            writeEpoch.incrementAndGet();
+        }
+    }
+
+    private <T> Optional<T> coalesce(Map<String, Call<T>> inFlight, String username,
+                                     Function<String, Optional<T>> lookup) {
+        if (!properties.isEnabled()) {
+            return lookup.apply(username);
+        }
+        Call<T> call = new Call<>(writeEpoch.get(), new CompletableFuture<>());
+        Call<T> leader = inFlight.compute(username,
+                (key, existing) -> existing != null && existing.epoch() == call.epoch() ? existing : call);
+        if (leader != call) {
+            coalescedLookups.increment();
+            return await(leader.result());
+        }
+        leaderLookups.increment();
+        try {
+            Optional<T> user = lookup.apply(username);
+            call.result().complete(user);
+            return user;
+        } catch (RuntimeException | Error e) {
+            call.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(username, call);
+        }
+    }
+
+    private <T> Optional<T> await(CompletableFuture<Optional<T>> result) {
+        try {
+            return result.get(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timedOutLookups.increment();
+            throw new ServiceUnavailableException("User lookup timed out, try again later");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("User lookup was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("User lookup failed", e.getCause());
+        }
+    }
+
+    private record Call<T>(long epoch, CompletableFuture<Optional<T>> result) {
+    }
+}
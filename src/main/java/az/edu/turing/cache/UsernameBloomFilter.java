@@ -0,0 +1,98 @@
+package az.edu.turing.cache;
+
+import az.edu.turing.config.properties.UsernameFilterProperties;
+import az.edu.turing.domain.repository.UserRepository;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * In-memory Bloom filter over every username in {@code user_table}, used to answer "no such user" without a query.
+ * <p>
+ * It is rebuilt from the table on a schedule (the first run seeds it at startup). Until then every username is
+ * reported as possibly present. Renamed users keep their old name in the filter until the next rebuild, which only
+ * costs a query, never a wrong answer.
+ */
+@Log4j2
+@Component
+@Profile("!reactive")
+public class UsernameBloomFilter {
+
+    private final UserRepository userRepository;
+    private final UsernameFilterProperties properties;
+    private final Counter skippedLookups;
+
+    private volatile BloomFilter<CharSequence> filter;
+    private volatile BloomFilter<CharSequence> rebuilding;
+    private volatile long lastSeededCount;
+
+    public UsernameBloomFilter(UserRepository userRepository,
+                               UsernameFilterProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.properties = properties;
+        this.skippedLookups = Counter.builder("users.username.filter.skipped")
+                .description("Username lookups answered as absent without querying the database")
+                .register(meterRegistry);
+        Gauge.builder("users.username.filter.size", this, f -> f.filter == null ? 0 : f.filter.approximateElementCount())
+                .description("Approximate number of usernames in the filter")
+                .register(meterRegistry);
+        Gauge.builder("users.username.filter.fpp", this, f -> f.filter == null ? 1 : f.filter.expectedFpp())
+                .description("Current expected false-positive probability")
+                .register(meterRegistry);
+    }
+
+    public boolean isDefinitelyAbsent(String username) {
+        BloomFilter<CharSequence> current = filter;
+        if (!properties.isEnabled() || current == null || current.mightContain(username)) {
+            return false;
+        }
+        skippedLookups.increment();
+        return true;
+    }
+
+    /**
+     * Must be called after the row carrying {@code username} is committed.
+     */
+    public void add(String username) {
+        // Read the rebuild target first: once it is promoted, filter already points at it.
+        BloomFilter<CharSequence> next = rebuilding;
+        BloomFilter<CharSequence> current = filter;
+        if (next != null) {
+            next.put(username);
+        }
+        if (current != null) {
+            current.put(username);
+        }
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.users.username-filter.rebuild-interval:PT1H}")
+    public void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long expectedInsertions = Math.max(properties.getExpectedInsertions(), lastSeededCount * 3 / 2);
+        BloomFilter<CharSequence> next = BloomFilter.create(
+                Funnels.stringFunnel(StandardCharsets.UTF_8), expectedInsertions, properties.getFpp());
+        // Published before the scan starts, so usernames committed after the scan's snapshot still land in it.
+        rebuilding = next;
+        try {
+            lastSeededCount = userRepository.forEachUsername(next::put);
+            filter = next;
+            log.info("Username filter rebuilt: usernames={}, expectedInsertions={}, expectedFpp={}",
+                    lastSeededCount, expectedInsertions, next.expectedFpp());
+        } catch (RuntimeException e) {
+            log.warn("Username filter rebuild failed, keeping the previous filter", e);
+        } finally {
+            rebuilding = null;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package az.edu.turing.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Matches when users live in PostgreSQL, i.e. {@code app.users.repository} is {@code jdbc} (the default) or
+ * {@code jpa}; beans that need the database carry it so {@code memory} starts without one.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Documented
+@ConditionalOnExpression("'${app.users.repository:jdbc}' != 'memory'")
+public @interface ConditionalOnUserDatabase {
+}
@@ -1,31 +1,96 @@
 package az.edu.turing.config;
-//
-//import org.springframework.boot.context.properties.ConfigurationProperties;
-//import org.springframework.boot.jdbc.DataSourceBuilder;
-//import org.springframework.context.annotation.Bean;
-//import org.springframework.context.annotation.Configuration;
-//import org.springframework.context.annotation.Primary;
-//import org.springframework.jdbc.core.JdbcTemplate;
-//
-//import javax.sql.DataSource;
-//
-//@Configuration
-//public class DataSourceConfig {
-//
-//    @Bean
-//    @Primary
-//    @ConfigurationProperties("spring.datasource")
-//    public DataSource dataSource() {
-//        return DataSourceBuilder.create()
-//                .url("jdbc:postgresql://localhost:5432/user-management")
-//                .username("root")
-//                .password("root2004")
-//                .driverClassName("org.postgresql.Driver")
-//                .build();
-//    }
-//
-//    @Bean
-//    public JdbcTemplate jdbcTemplate(DataSource dataSource) {
-//        return new JdbcTemplate(dataSource);
-//    }
-//}
+
+import az.edu.turing.config.properties.ReplicaDataSourceProperties;
+import az.edu.turing.domain.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Builds the primary pool and, when {@code app.datasource.replicas} lists any, one pool per replica behind a
+ * {@link ReplicaRoutingDataSource}. Every pool takes its settings from {@code spring.datasource.hikari}; the
+ * {@code pool-small}, {@code pool-medium} and {@code pool-large} profiles hold sizing presets.
+ * <p>
+ * Replaces {@code DataSourceAutoConfiguration}, which is excluded, and is skipped for the {@code memory} repository:
+ * without a {@link DataSource} bean, Flyway, JPA and {@code JdbcTemplate} back off too.
+ */
+@Configuration
+@Profile("!reactive")
+@ConditionalOnUserDatabase
+@EnableConfigurationProperties({DataSourceProperties.class, ReplicaDataSourceProperties.class})
+public class DataSourceConfig {
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties,
+                                 ReplicaDataSourceProperties replicaProperties,
+                                 Environment environment,
+                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = pool("primary", properties.determineUrl(), properties.determineUsername(),
+                properties.determinePassword(), properties, binder, meterRegistry);
+        if (replicaProperties.getReplicas().isEmpty()) {
+            return primary;
+        }
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (ReplicaDataSourceProperties.Replica replica : replicaProperties.getReplicas()) {
+            String name = "replica-" + (replicas.size() + 1);
+            replicas.put(name, pool(name, replica.getUrl(),
+                    replica.getUsername() != null ? replica.getUsername() : properties.determineUsername(),
+                    replica.getPassword() != null ? replica.getPassword() : properties.determinePassword(),
+                    properties, binder, meterRegistry));
+        }
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replicas,
+                replicaProperties.getHealthCheckTimeout());
+        meterRegistry.ifAvailable(registry -> Gauge.builder("datasource.replicas.healthy", dataSource,
+                        ReplicaRoutingDataSource::healthyReplicas)
+                .description("Replicas currently receiving read-only transactions")
+                .register(registry));
+        return dataSource;
+    }
+
+    private static HikariDataSource pool(String name, String url, String username, String password,
+                                         DataSourceProperties properties, Binder binder,
+                                         ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource dataSource = new HikariDataSource();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(name);
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        meterRegistry.ifAvailable(registry -> {
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            Gauge.builder("hikaricp.connections.utilization", dataSource, DataSourceConfig::utilization)
+                    .description("Share of the pool's maximum size currently checked out")
+                    .tag("pool", name)
+                    .register(registry);
+        });
+        return dataSource;
+    }
+
+    /**
+     * Hikari already publishes pending threads ({@code hikaricp.connections.pending}); busy over max is the earlier
+     * signal, climbing towards 1 before callers start queueing.
+     */
+    static double utilization(HikariDataSource dataSource) {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        return pool == null ? 0 : (double) pool.getActiveConnections() / dataSource.getMaximumPoolSize();
+    }
+}
@@ -0,0 +1,83 @@
+package az.edu.turing.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.SmartTransactionObject;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * The {@code memory} repository runs without a database, so nothing provides a transaction manager. The services
+ * still demarcate transactions, and the cache, the lookup coalescer and the outbox act on commit, so this one only
+ * drives transaction synchronization.
+ */
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "app.users", name = "repository", havingValue = "memory")
+public class MemoryRepositoryConfig {
+
+    @Bean
+    public PlatformTransactionManager transactionManager() {
+        return new ResourcelessTransactionManager();
+    }
+
+    /**
+     * Holds no resource: commit only runs the synchronizations, and rollback undoes nothing the store already applied.
+     * The transaction is bound to the thread so nested scopes join it and a failed one marks it rollback-only.
+     */
+    static class ResourcelessTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            Object bound = TransactionSynchronizationManager.getResource(this);
+            return bound != null ? bound : new ResourcelessTransaction();
+        }
+
+        @Override
+        protected boolean isExistingTransaction(Object transaction) {
+            return TransactionSynchronizationManager.getResource(this) == transaction;
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            TransactionSynchronizationManager.bindResource(this, transaction);
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+            ((ResourcelessTransaction) status.getTransaction()).rollbackOnly = true;
+        }
+
+        @Override
+        protected void doCleanupAfterCompletion(Object transaction) {
+            TransactionSynchronizationManager.unbindResource(this);
+        }
+    }
+
+    private static final class ResourcelessTransaction implements SmartTransactionObject {
+
+        private boolean rollbackOnly;
+
+        @Override
+        public boolean isRollbackOnly() {
+            return rollbackOnly;
+        }
+
+        @Override
+        public void flush() {
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package az.edu.turing.config;
+
+import az.edu.turing.config.properties.PasswordHashingProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+
+@Configuration
+public class PasswordHashingConfig {
+
+    @Bean
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties) {
+        PasswordHashingProperties.Argon2 argon2 = properties.getArgon2();
+        Map<String, PasswordEncoder> encoders = Map.of(
+                "bcrypt", new BCryptPasswordEncoder(properties.getBcrypt().getStrength()),
+                "argon2", new Argon2PasswordEncoder(argon2.getSaltLength(), argon2.getHashLength(),
+                        argon2.getParallelism(), argon2.getMemory(), argon2.getIterations()));
+        return new DelegatingPasswordEncoder(properties.getAlgorithm().name().toLowerCase(), encoders);
+    }
+}
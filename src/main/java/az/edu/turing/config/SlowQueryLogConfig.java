@@ -0,0 +1,37 @@
+package az.edu.turing.config;
+
+import az.edu.turing.config.properties.SlowQueryLogProperties;
+import az.edu.turing.logging.SlowQueryLogListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the pooled {@link DataSource} so every JDBC and JPA statement passes through {@link SlowQueryLogListener}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.sql.slow-query-log", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryLogConfig {
+
+    @Bean
+    public static BeanPostProcessor slowQueryLogDataSourcePostProcessor(
+            ObjectProvider<SlowQueryLogProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(new SlowQueryLogListener(properties.getObject()))
+                        .build();
+            }
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package az.edu.turing.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.users.bulk-status")
+public class BulkStatusProperties {
+
+    /**
+     * Rows changed per UPDATE statement; each chunk commits on its own so row locks stay short.
+     */
+    private int chunkSize = 1_000;
+
+    /**
+     * Upper bound on ids accepted by one request.
+     */
+    private int maxIds = 100_000;
+}
@@ -0,0 +1,18 @@
+package az.edu.turing.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.users.lookup-coalescing")
+public class LookupCoalescingProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Longest a caller waits for a lookup started by another caller before it is answered with 503.
+     */
+    private Duration timeout = Duration.ofSeconds(2);
+}
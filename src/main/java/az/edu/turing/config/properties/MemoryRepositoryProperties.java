@@ -0,0 +1,24 @@
+package az.edu.turing.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.users.memory")
+public class MemoryRepositoryProperties {
+
+    /**
+     * File the users are loaded from at startup and written to on every snapshot; unset keeps them in memory only.
+     */
+    private Path snapshotPath;
+
+    private Duration snapshotInterval = Duration.ofMinutes(1);
+
+    /**
+     * Number of locks writes to the same user are serialized on.
+     */
+    private int lockStripes = 64;
+}
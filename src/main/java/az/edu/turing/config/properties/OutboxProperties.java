@@ -0,0 +1,36 @@
+package az.edu.turing.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.users.outbox")
+public class OutboxProperties {
+
+    /**
+     * Events handed to the sink per relay transaction.
+     */
+    private int batchSize = 500;
+
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /**
+     * NDJSON file the {@code file} sink appends to.
+     */
+    private Path filePath = Path.of("user-changes.ndjson");
+
+    /**
+     * Partitions of the {@code queue} sink; events for one user always land in the same partition.
+     */
+    private int queuePartitions = 8;
+
+    /**
+     * Events each {@code queue} partition holds before the relay backs off and retries the batch.
+     */
+    private int queueCapacity = 10_000;
+
+    private Duration queueOfferTimeout = Duration.ofSeconds(1);
+}
@@ -0,0 +1,63 @@
+package az.edu.turing.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.security.password")
+public class PasswordHashingProperties {
+
+    /**
+     * KDF used for new hashes. Hashes are stored with an {id} prefix, so switching keeps old hashes verifiable.
+     */
+    private Algorithm algorithm = Algorithm.BCRYPT;
+
+    private Bcrypt bcrypt = new Bcrypt();
+    private Argon2 argon2 = new Argon2();
+    private Executor executor = new Executor();
+
+    public enum Algorithm {
+        BCRYPT, ARGON2
+    }
+
+    @Data
+    public static class Bcrypt {
+
+        private int strength = 10;
+    }
+
+    @Data
+    public static class Argon2 {
+
+        private int saltLength = 16;
+        private int hashLength = 32;
+        private int parallelism = 1;
+
+        /**
+         * Memory cost in KiB.
+         */
+        private int memory = 19_456;
+        private int iterations = 2;
+    }
+
+    @Data
+    public static class Executor {
+
+        /**
+         * Hashing threads; keep at or below the cores you are willing to spend on KDF work.
+         */
+        private int threads = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Hashes allowed to wait for a thread before new ones are rejected with 503.
+         */
+        private int queueCapacity = 200;
+
+        /**
+         * Longest a caller waits for its hash, queueing included.
+         */
+        private Duration timeout = Duration.ofSeconds(5);
+    }
+}
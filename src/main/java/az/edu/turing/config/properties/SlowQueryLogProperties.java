@@ -0,0 +1,28 @@
+package az.edu.turing.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.sql.slow-query-log")
+public class SlowQueryLogProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Statements taking at least this long are always logged.
+     */
+    private Duration threshold = Duration.ofMillis(200);
+
+    /**
+     * Additionally log one in this many statements regardless of duration; 0 turns sampling off.
+     */
+    private int sampleRate = 0;
+
+    /**
+     * Log bind parameters by type only. Turn off only where the data is not sensitive.
+     */
+    private boolean redactParameters = true;
+}
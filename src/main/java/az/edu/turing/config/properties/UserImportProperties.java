@@ -0,0 +1,19 @@
+package az.edu.turing.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.users.import")
+public class UserImportProperties {
+
+    /**
+     * Rows written per INSERT statement.
+     */
+    private int batchSize = 1_000;
+
+    /**
+     * Row errors kept in the report; further failures are only counted.
+     */
+    private int maxReportedErrors = 1_000;
+}
@@ -0,0 +1,43 @@
+package az.edu.turing.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.users.lookup")
+public class UserLookupProperties {
+
+    /**
+     * Upper bound on ids plus usernames accepted by one lookup request.
+     */
+    private int maxKeys = 500;
+
+    private Batch batch = new Batch();
+
+    @Data
+    public static class Batch {
+
+        /**
+         * When off, every id or username lookup issues its own query.
+         */
+        private boolean enabled = true;
+
+        /**
+         * How long the first key of a batch waits for others. A longer window merges more lookups into one query at
+         * the cost of that much added latency for each of them.
+         */
+        private Duration window = Duration.ofNanos(200_000);
+
+        /**
+         * A batch is sent as soon as it holds this many keys, without waiting for the window to close.
+         */
+        private int maxSize = 500;
+
+        /**
+         * Longest a caller waits for its batch, queueing included.
+         */
+        private Duration timeout = Duration.ofSeconds(2);
+    }
+}
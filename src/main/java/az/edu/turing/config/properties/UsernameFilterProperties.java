@@ -0,0 +1,25 @@
+package az.edu.turing.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.users.username-filter")
+public class UsernameFilterProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Lower bound for the filter capacity; rebuilds size it to 1.5x the usernames seen last time if that is larger.
+     */
+    private long expectedInsertions = 1_000_000;
+
+    /**
+     * Target false-positive probability at the expected capacity.
+     */
+    private double fpp = 0.01;
+
+    private Duration rebuildInterval = Duration.ofHours(1);
+}
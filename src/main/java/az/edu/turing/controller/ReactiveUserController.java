@@ -0,0 +1,96 @@
+package az.edu.turing.controller;
+
+import az.edu.turing.model.dto.UserDto;
+import az.edu.turing.model.dto.request.BulkStatusUpdateRequest;
+import az.edu.turing.model.dto.request.CreateUserRequest;
+import az.edu.turing.model.dto.request.UpdateUserRequest;
+import az.edu.turing.model.dto.request.UserSearchRequest;
+import az.edu.turing.model.dto.request.VerifyPasswordRequest;
+import az.edu.turing.model.dto.response.BulkStatusUpdateResponse;
+import az.edu.turing.model.dto.response.UserPageResponse;
+import az.edu.turing.model.dto.response.VerifyPasswordResponse;
+import az.edu.turing.model.enums.UserStatus;
+import az.edu.turing.service.ReactiveUserService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux edition of {@link UserController}, active with the {@code reactive} profile. Bulk import is servlet-only.
+ */
+@RequiredArgsConstructor
+@RestController
+@Validated
+@RequestMapping("/api/v1/users")
+@Profile("reactive")
+public class ReactiveUserController {
+
+    private final ReactiveUserService userService;
+
+    @GetMapping
+    public Mono<UserPageResponse> getAll(@RequestParam(defaultValue = "0") @PositiveOrZero long after,
+                                         @RequestParam(defaultValue = "50") @Min(1) @Max(500) int limit) {
+        return userService.findAll(after, limit);
+    }
+
+    @GetMapping("/search")
+    public Mono<UserPageResponse> search(@Valid UserSearchRequest request,
+                                         @RequestParam(defaultValue = "0") @PositiveOrZero long after,
+                                         @RequestParam(defaultValue = "50") @Min(1) @Max(500) int limit) {
+        return userService.search(request, after, limit);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<UserDto> streamAll() {
+        return userService.streamAll();
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<UserDto>> create(@Valid @RequestBody CreateUserRequest request) {
+        return userService.create(request)
+                .map(user -> ResponseEntity.status(HttpStatus.CREATED).body(user));
+    }
+
+    @PostMapping("/verify-password")
+    public Mono<VerifyPasswordResponse> verifyPassword(@Valid @RequestBody VerifyPasswordRequest request) {
+        return userService.verifyPassword(request);
+    }
+
+    @GetMapping("/{username}")
+    public Mono<UserDto> getByUserName(@Email @PathVariable("username") String username) {
+        return userService.findByUsername(username);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<UserDto> update(@PathVariable("id") long id, @Valid @RequestBody UpdateUserRequest request) {
+        return userService.update(id, request);
+    }
+
+    @PatchMapping("/status")
+    public Mono<BulkStatusUpdateResponse> updateStatuses(@Valid @RequestBody BulkStatusUpdateRequest request) {
+        return userService.updateStatuses(request);
+    }
+
+    @PatchMapping("/{id}")
+    public Mono<UserDto> updateStatus(@PathVariable long id, @RequestParam @NotNull UserStatus status) {
+        return userService.updateStatus(id, status);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> delete(@PathVariable long id) {
+        return userService.deleteById(id)
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+}
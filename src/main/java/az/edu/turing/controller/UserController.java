@@ -1,54 +1,152 @@
 package az.edu.turing.controller;
 
+import az.edu.turing.domain.repository.UserTableVersion;
+import az.edu.turing.exception.PreconditionFailedException;
 import az.edu.turing.model.dto.UserDto;
+import az.edu.turing.model.dto.request.BulkStatusUpdateRequest;
 import az.edu.turing.model.dto.request.CreateUserRequest;
 import az.edu.turing.model.dto.request.UpdateUserRequest;
+import az.edu.turing.model.dto.request.UserLookupRequest;
+import az.edu.turing.model.dto.request.UserSearchRequest;
+import az.edu.turing.model.dto.request.VerifyPasswordRequest;
+import az.edu.turing.model.dto.response.BulkStatusUpdateResponse;
+import az.edu.turing.model.dto.response.UserImportReport;
+import az.edu.turing.model.dto.response.UserLookupResponse;
+import az.edu.turing.model.dto.response.UserPageResponse;
+import az.edu.turing.model.dto.response.VerifyPasswordResponse;
+import az.edu.turing.model.enums.ImportFormat;
 import az.edu.turing.model.enums.UserStatus;
+import az.edu.turing.service.UserImportService;
 import az.edu.turing.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.Set;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 
+/**
+ * Single-user responses carry a strong ETag of the user's id and version plus Last-Modified; a matching
+ * {@code If-None-Match} on GET is answered with 304 without writing the body. List responses are tagged with the
+ * table version, which is checked before any user is read.
+ * <p> PUT and PATCH on a user accept that ETag in {@code If-Match}: the write only applies while the user is still at
+ * that version and is answered with 412 otherwise. Without {@code If-Match}, or with {@code *}, they apply
+ * unconditionally.
+ */
 @RequiredArgsConstructor
 @RestController
+@Profile("!reactive")
 @Validated
 @RequestMapping("/api/v1/users")
 public class UserController {
 
     private final UserService userService;
+    private final UserImportService userImportService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
-    public ResponseEntity<Set<UserDto>> getAll() {
-        return ResponseEntity.ok(userService.findAll());
+    public ResponseEntity<UserPageResponse> getAll(@RequestParam(defaultValue = "0") @PositiveOrZero long after,
+                                                   @RequestParam(defaultValue = "50") @Min(1) @Max(500) int limit,
+                                                   WebRequest webRequest) {
+        if (notModified(webRequest, userService.tableVersion())) {
+            return null;
+        }
+        return versioned(userService.findAll(after, limit));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<UserPageResponse> search(@Valid UserSearchRequest request,
+                                                   @RequestParam(defaultValue = "0") @PositiveOrZero long after,
+                                                   @RequestParam(defaultValue = "50") @Min(1) @Max(500) int limit,
+                                                   WebRequest webRequest) {
+        if (notModified(webRequest, userService.tableVersion())) {
+            return null;
+        }
+        return versioned(userService.search(request, after, limit));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(outputStream -> {
+                    try (SequenceWriter writer = objectMapper.writer()
+                            .withRootValueSeparator("\n")
+                            .writeValues(outputStream)) {
+                        userService.streamAll(user -> {
+                            try {
+                                writer.write(user);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+                    }
+                });
     }
 
     @PostMapping
     public ResponseEntity<UserDto> create(@Valid @RequestBody CreateUserRequest request) {
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(userService.create(request));
+        return versioned(ResponseEntity.status(HttpStatus.CREATED), userService.create(request));
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<UserImportReport> importCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(userImportService.importUsers(body, ImportFormat.CSV));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<UserImportReport> importNdjson(InputStream body) throws IOException {
+        return ResponseEntity.ok(userImportService.importUsers(body, ImportFormat.NDJSON));
+    }
+
+    @PostMapping("/lookup")
+    public ResponseEntity<UserLookupResponse> lookup(@Valid @RequestBody UserLookupRequest request) {
+        return ResponseEntity.ok(userService.lookup(request));
+    }
+
+    @PostMapping("/verify-password")
+    public ResponseEntity<VerifyPasswordResponse> verifyPassword(@Valid @RequestBody VerifyPasswordRequest request) {
+        return ResponseEntity.ok(userService.verifyPassword(request));
     }
 
     @GetMapping("/{username}")
     public ResponseEntity<UserDto> getByUserName(@Email @PathVariable("username") String username) {
-        return ResponseEntity.ok(userService.findByUsername(username));
+        return versioned(ResponseEntity.ok(), userService.findByUsername(username));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<UserDto> update(@PathVariable("id") long id, @Valid @RequestBody UpdateUserRequest request) {
-        return ResponseEntity.ok(userService.update(id, request));
+    public ResponseEntity<UserDto> update(@PathVariable("id") long id, @Valid @RequestBody UpdateUserRequest request,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                          String ifMatch) {
+        return versioned(ResponseEntity.ok(), userService.update(id, request, expectedVersion(id, ifMatch)));
+    }
+
+    @PatchMapping("/status")
+    public ResponseEntity<BulkStatusUpdateResponse> updateStatuses(@Valid @RequestBody BulkStatusUpdateRequest request) {
+        return ResponseEntity.ok(userService.updateStatuses(request));
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<UserDto> updateStatus(@PathVariable long id, @RequestParam @NotNull UserStatus status) {
-        return ResponseEntity.status(HttpStatus.OK)
-                .body(userService.updateStatus(id, status));
+    public ResponseEntity<UserDto> updateStatus(@PathVariable long id, @RequestParam @NotNull UserStatus status,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                String ifMatch) {
+        return versioned(ResponseEntity.ok(), userService.updateStatus(id, status, expectedVersion(id, ifMatch)));
     }
 
     @DeleteMapping("/{id}")
@@ -56,4 +154,49 @@ public class UserController {
         userService.deleteById(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * @return the version in a strong {@code "<id>.<version>"} ETag, or null when there is no precondition
+     * @throws PreconditionFailedException when the ETag is weak, malformed or names another user, since it can never
+     *                                     match this user's current ETag
+     */
+    private static Long expectedVersion(long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.strip().equals("*")) {
+            return null;
+        }
+        String eTag = ifMatch.strip();
+        String prefix = "\"" + id + ".";
+        if (eTag.startsWith(prefix) && eTag.endsWith("\"") && eTag.length() > prefix.length() + 1) {
+            try {
+                return Long.parseLong(eTag.substring(prefix.length(), eTag.length() - 1));
+            } catch (NumberFormatException e) {
+                // falls through to the 412 below
+            }
+        }
+        throw new PreconditionFailedException("If-Match " + eTag + " does not match user " + id);
+    }
+
+    private static ResponseEntity<UserDto> versioned(ResponseEntity.BodyBuilder response, UserDto user) {
+        return response.eTag("\"" + user.id() + "." + user.version() + "\"")
+                .lastModified(user.updatedAt())
+                .body(user);
+    }
+
+    private static ResponseEntity<UserPageResponse> versioned(UserPageResponse page) {
+        return ResponseEntity.ok()
+                .eTag(eTag(page.getTableVersion()))
+                .lastModified(page.getTableVersion().changedAt())
+                .body(page);
+    }
+
+    /**
+     * Sets the list validators on the response and reports whether the request's copy is still current.
+     */
+    private static boolean notModified(WebRequest webRequest, UserTableVersion tableVersion) {
+        return webRequest.checkNotModified(eTag(tableVersion), tableVersion.changedAt().toEpochMilli());
+    }
+
+    private static String eTag(UserTableVersion tableVersion) {
+        return "\"" + tableVersion.version() + "\"";
+    }
 }
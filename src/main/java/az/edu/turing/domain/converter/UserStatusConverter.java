@@ -0,0 +1,19 @@
+package az.edu.turing.domain.converter;
+
+import az.edu.turing.model.enums.UserStatus;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter
+public class UserStatusConverter implements AttributeConverter<UserStatus, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(UserStatus status) {
+        return status == null ? null : status.getCode();
+    }
+
+    @Override
+    public UserStatus convertToEntityAttribute(Short code) {
+        return code == null ? null : UserStatus.fromCode(code);
+    }
+}
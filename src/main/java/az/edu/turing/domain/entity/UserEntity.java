@@ -1,8 +1,13 @@
 package az.edu.turing.domain.entity;
 
+import az.edu.turing.domain.converter.UserStatusConverter;
 import az.edu.turing.model.enums.UserStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Generated;
+import org.hibernate.generator.EventType;
+
+import java.time.Instant;
 
 @Data
 @Builder
@@ -20,10 +25,22 @@ public class UserEntity {
     @Column(name = "username", nullable = false)
     private String username;
 
+    @ToString.Exclude
     @Column(name = "password", nullable = false)
     private String password;
 
     @Column(name = "status", nullable = false)
-    @Enumerated(EnumType.STRING)
+    @Convert(converter = UserStatusConverter.class)
     private UserStatus status;
+
+    /**
+     * Bumped on every change, by Hibernate for entity updates and by a trigger for every other UPDATE.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Generated(event = {EventType.INSERT, EventType.UPDATE})
+    @Column(name = "updated_at", nullable = false, insertable = false, updatable = false)
+    private Instant updatedAt;
 }
@@ -0,0 +1,365 @@
+package az.edu.turing.domain.repository;
+
+import az.edu.turing.config.properties.MemoryRepositoryProperties;
+import az.edu.turing.domain.entity.UserEntity;
+import az.edu.turing.model.dto.UserDto;
+import az.edu.turing.model.enums.UserStatus;
+import com.google.common.util.concurrent.Striped;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * {@link UserRepository} that keeps every user on the heap, indexed by id and by username.
+ * <p>
+ * Reads never block. Writes to one user are serialized on a striped lock; usernames are claimed with
+ * {@code putIfAbsent}, which plays the part of the unique index. Stored entities are never mutated, so every read
+ * hands out a copy. With {@code app.users.memory.snapshot-path} set, the users are restored from that file at startup
+ * and written back on a schedule and at shutdown; a snapshot taken under concurrent writes holds each user as of the
+ * moment it was copied, not one point in time.
+ * <p>
+ * Versions follow the database rules: a write that changes nothing keeps the user's version. The table version starts
+ * from the clock in microseconds, so a value handed out before a restart is not reused after it.
+ */
+@Log4j2
+@Repository
+@Timed("users.repository")
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "app.users", name = "repository", havingValue = "memory")
+public class InMemoryUserRepository implements UserRepository {
+
+    private static final int SNAPSHOT_MAGIC = 0x55534552;
+    private static final int SNAPSHOT_VERSION = 2;
+    private static final int SNAPSHOT_HEADER_BYTES = Integer.BYTES * 3 + Long.BYTES;
+
+    private final ConcurrentSkipListMap<Long, UserEntity> usersById = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<String, Long> idsByUsername = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicReference<UserTableVersion> tableVersion;
+    private final Striped<Lock> locks;
+    private final MemoryRepositoryProperties properties;
+
+    public InMemoryUserRepository(MemoryRepositoryProperties properties) {
+        this.properties = properties;
+        this.locks = Striped.lock(properties.getLockStripes());
+        Instant now = Instant.now();
+        this.tableVersion = new AtomicReference<>(new UserTableVersion(ChronoUnit.MICROS.between(Instant.EPOCH, now),
+                now));
+    }
+
+    @Override
+    public List<UserDto> findPage(long after, int limit) {
+        return usersById.tailMap(after, false).values().stream()
+                .limit(limit)
+                .map(InMemoryUserRepository::view)
+                .toList();
+    }
+
+    /**
+     * Scans in id order from the cursor; there is no username index to narrow the walk.
+     */
+    @Override
+    public List<UserDto> search(UserSearchCriteria criteria, long after, int limit) {
+        return usersById.tailMap(after, false).values().stream()
+                .filter(userEntity -> criteria.matches(userEntity.getUsername(), userEntity.getStatus()))
+                .limit(limit)
+                .map(InMemoryUserRepository::view)
+                .toList();
+    }
+
+    @Override
+    public void forEach(Consumer<UserDto> action) {
+        usersById.values().forEach(userEntity -> action.accept(view(userEntity)));
+    }
+
+    @Override
+    public UserTableVersion tableVersion() {
+        return tableVersion.get();
+    }
+
+    @Override
+    public long forEachUsername(Consumer<String> action) {
+        long count = 0;
+        for (UserEntity userEntity : usersById.values()) {
+            action.accept(userEntity.getUsername());
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public Optional<UserEntity> findByUsername(String username) {
+        Long id = idsByUsername.get(username);
+        return id == null ? Optional.empty() : Optional.ofNullable(usersById.get(id)).map(InMemoryUserRepository::copy);
+    }
+
+    @Override
+    public List<UserDto> findAllByIds(List<Long> ids) {
+        return ids.stream()
+                .distinct()
+                .map(usersById::get)
+                .filter(Objects::nonNull)
+                .map(InMemoryUserRepository::view)
+                .toList();
+    }
+
+    @Override
+    public List<UserDto> findAllByUsernames(List<String> usernames) {
+        return findAllByIds(usernames.stream()
+                .map(idsByUsername::get)
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    @Override
+    public Optional<UserEntity> insertIfAbsent(UserEntity userEntity) {
+        long id = sequence.incrementAndGet();
+        if (idsByUsername.putIfAbsent(userEntity.getUsername(), id) != null) {
+            return Optional.empty();
+        }
+        UserEntity stored = new UserEntity(id, userEntity.getUsername(), userEntity.getPassword(),
+                userEntity.getStatus(), 0L, Instant.now());
+        usersById.put(id, stored);
+        tableChanged();
+        return Optional.of(copy(stored));
+    }
+
+    @Override
+    public List<UserEntity> insertAllIfAbsent(List<UserEntity> userEntities) {
+        List<UserEntity> inserted = new ArrayList<>();
+        for (UserEntity userEntity : userEntities) {
+            insertIfAbsent(userEntity).ifPresent(inserted::add);
+        }
+        return inserted;
+    }
+
+    @Override
+    public Optional<UserEntity> update(long id, String username, String password, Long expectedVersion) {
+        return replace(id, expectedVersion, current -> {
+            if (!current.getUsername().equals(username)) {
+                Long owner = idsByUsername.putIfAbsent(username, id);
+                if (owner != null && owner != id) {
+                    throw new DuplicateKeyException("Username already taken");
+                }
+                idsByUsername.remove(current.getUsername(), id);
+            }
+            return changed(current, username, password, current.getStatus());
+        });
+    }
+
+    @Override
+    public Optional<UserStatusUpdate> updateStatus(long id, UserStatus status, Long expectedVersion) {
+        boolean[] changed = new boolean[1];
+        return replace(id, expectedVersion, current -> {
+            changed[0] = current.getStatus() != status;
+            return changed(current, current.getUsername(), current.getPassword(), status);
+        }).map(userEntity -> new UserStatusUpdate(userEntity, changed[0]));
+    }
+
+    @Override
+    public List<UserDto> updateStatusByIds(List<Long> ids, UserStatus status) {
+        List<UserDto> changed = new ArrayList<>();
+        for (Long id : ids) {
+            changeStatus(id, null, status).ifPresent(changed::add);
+        }
+        return changed;
+    }
+
+    @Override
+    public List<UserDto> updateStatusByStatus(UserStatus currentStatus, UserStatus status, int limit) {
+        List<UserDto> changed = new ArrayList<>();
+        for (UserEntity userEntity : usersById.values()) {
+            if (changed.size() == limit) {
+                break;
+            }
+            if (userEntity.getStatus() == currentStatus) {
+                changeStatus(userEntity.getId(), currentStatus, status).ifPresent(changed::add);
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public Optional<UserEntity> deleteById(long id) {
+        return updateStatus(id, UserStatus.DELETED).map(UserStatusUpdate::user);
+    }
+
+    @PostConstruct
+    void restore() throws IOException {
+        Path path = properties.getSnapshotPath();
+        if (path == null || !Files.exists(path)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int version = buffer.getInt() == SNAPSHOT_MAGIC ? buffer.getInt() : -1;
+            if (version != 1 && version != SNAPSHOT_VERSION) {
+                throw new IllegalStateException("Not a users snapshot: " + path);
+            }
+            sequence.set(buffer.getLong());
+            int count = buffer.getInt();
+            Instant restoredAt = Instant.now();
+            for (int i = 0; i < count; i++) {
+                long id = buffer.getLong();
+                String username = string(buffer);
+                String password = string(buffer);
+                UserStatus status = UserStatus.fromCode(buffer.getShort());
+                UserEntity userEntity = version == 1
+                        ? new UserEntity(id, username, password, status, 0L, restoredAt)
+                        : new UserEntity(id, username, password, status, buffer.getLong(),
+                        Instant.ofEpochSecond(buffer.getLong(), buffer.getInt()));
+                usersById.put(userEntity.getId(), userEntity);
+                idsByUsername.put(userEntity.getUsername(), userEntity.getId());
+            }
+        }
+        log.info("Users restored from snapshot: path={}, users={}", path, usersById.size());
+    }
+
+    /**
+     * Writes the users to a temporary file next to the snapshot and moves it into place, so a crash mid-write
+     * leaves the previous snapshot intact.
+     */
+    @PreDestroy
+    @Scheduled(initialDelayString = "${app.users.memory.snapshot-interval:PT1M}",
+            fixedDelayString = "${app.users.memory.snapshot-interval:PT1M}")
+    public void snapshot() throws IOException {
+        Path path = properties.getSnapshotPath();
+        if (path == null) {
+            return;
+        }
+        long nextId = sequence.get();
+        List<byte[]> fields = new ArrayList<>();
+        List<UserEntity> users = new ArrayList<>(usersById.values());
+        long size = SNAPSHOT_HEADER_BYTES;
+        for (UserEntity userEntity : users) {
+            byte[] username = userEntity.getUsername().getBytes(StandardCharsets.UTF_8);
+            byte[] password = userEntity.getPassword().getBytes(StandardCharsets.UTF_8);
+            fields.add(username);
+            fields.add(password);
+            size += Long.BYTES * 3 + Integer.BYTES * 3L + username.length + password.length + Short.BYTES;
+        }
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(SNAPSHOT_MAGIC).putInt(SNAPSHOT_VERSION).putLong(nextId).putInt(users.size());
+            for (int i = 0; i < users.size(); i++) {
+                UserEntity userEntity = users.get(i);
+                buffer.putLong(userEntity.getId());
+                buffer.putInt(fields.get(2 * i).length).put(fields.get(2 * i));
+                buffer.putInt(fields.get(2 * i + 1).length).put(fields.get(2 * i + 1));
+                buffer.putShort(userEntity.getStatus().getCode());
+                buffer.putLong(userEntity.getVersion());
+                buffer.putLong(userEntity.getUpdatedAt().getEpochSecond()).putInt(userEntity.getUpdatedAt().getNano());
+            }
+            buffer.force();
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.debug("Users snapshot written: path={}, users={}", path, users.size());
+    }
+
+    private Optional<UserEntity> replace(long id, Long expectedVersion, UnaryOperator<UserEntity> change) {
+        Lock lock = locks.get(id);
+        lock.lock();
+        try {
+            UserEntity current = usersById.get(id);
+            if (current == null) {
+                return Optional.empty();
+            }
+            if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                throw new OptimisticLockingFailureException("User " + id + " is no longer at version "
+                        + expectedVersion);
+            }
+            UserEntity updated = change.apply(current);
+            if (updated != current) {
+                usersById.put(id, updated);
+                tableChanged();
+            }
+            return Optional.of(copy(updated));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param expectedStatus status the user must still have, or null for any
+     * @return the user after the change, or empty when the status did not change
+     */
+    private Optional<UserDto> changeStatus(long id, UserStatus expectedStatus, UserStatus status) {
+        Lock lock = locks.get(id);
+        lock.lock();
+        try {
+            UserEntity current = usersById.get(id);
+            if (current == null || current.getStatus() == status
+                    || (expectedStatus != null && current.getStatus() != expectedStatus)) {
+                return Optional.empty();
+            }
+            UserEntity updated = changed(current, current.getUsername(), current.getPassword(), status);
+            usersById.put(id, updated);
+            tableChanged();
+            return Optional.of(view(updated));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return {@code current} itself when nothing differs, otherwise the next version of it
+     */
+    private static UserEntity changed(UserEntity current, String username, String password, UserStatus status) {
+        if (current.getUsername().equals(username) && current.getPassword().equals(password)
+                && current.getStatus() == status) {
+            return current;
+        }
+        return new UserEntity(current.getId(), username, password, status, current.getVersion() + 1, Instant.now());
+    }
+
+    private void tableChanged() {
+        tableVersion.updateAndGet(current -> new UserTableVersion(current.version() + 1, Instant.now()));
+    }
+
+    private static String string(MappedByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static UserDto view(UserEntity userEntity) {
+        return new UserDto(userEntity.getId(), userEntity.getUsername(), userEntity.getStatus(),
+                userEntity.getVersion(), userEntity.getUpdatedAt());
+    }
+
+    private static UserEntity copy(UserEntity userEntity) {
+        return new UserEntity(userEntity.getId(), userEntity.getUsername(), userEntity.getPassword(),
+                userEntity.getStatus(), userEntity.getVersion(), userEntity.getUpdatedAt());
+    }
+}
@@ -1,83 +1,306 @@
 package az.edu.turing.domain.repository;
 
 import az.edu.turing.domain.entity.UserEntity;
+import az.edu.turing.mapper.UserDtoRowMapper;
 import az.edu.turing.mapper.UserRowMapper;
+import az.edu.turing.model.dto.UserDto;
 import az.edu.turing.model.enums.UserStatus;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.*;
-import java.util.concurrent.atomic.AtomicLong;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
+/**
+ * Default {@link UserRepository}: every write is a single statement that returns the affected rows, so nothing is
+ * read back separately.
+ */
 @RequiredArgsConstructor
 @Repository
-public class JdbcTemplateUserRepository {
-
-    public final JdbcTemplate jdbcTemplate;
-    public final UserRowMapper rowMapper;
-
-    private final AtomicLong id = new AtomicLong();
-    private static final Set<UserEntity> USERS = new HashSet<>();
-
-    public Collection<UserEntity> findAll() {
-        String querySelect = "SELECT* FROM user_table;";
-        return jdbcTemplate.query(querySelect, rowMapper);
-    }
-
-    public boolean existsByUsername(String username) {
-        String querySelect = "SELECT COUNT(*) FROM user_table WHERE username = ?";
-        return jdbcTemplate.queryForObject(querySelect, Integer.class, username) > 0;
-    }
-
-    public UserEntity save(UserEntity userEntity) {
-        if (userEntity.getId() == null) {
-            String queryInsert = """
-                    INSERT INTO user_table (username, password)
-                    VALUES (?,?);
-                    """;
-            jdbcTemplate.update(queryInsert, userEntity.getUsername(), userEntity.getPassword());
-//            userEntity.setId(id.incrementAndGet());
-        } else {
-            String queryUpdate = """
-                    UPDATE user_table SET username = ?,
-                    password = ?,
-                    status = ?
-                    WHERE id = ?;
-                    """;
-            jdbcTemplate.update(queryUpdate,
-                    userEntity.getUsername(),
-                    userEntity.getPassword(),
-                    userEntity.getStatus().toString(),
-                    userEntity.getId());
-//            deleteById(userEntity.getId());
+@Timed("users.repository")
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "app.users", name = "repository", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcTemplateUserRepository implements UserRepository {
+
+    private static final int STREAM_FETCH_SIZE = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRowMapper rowMapper;
+    private final UserDtoRowMapper dtoRowMapper;
+
+    @Override
+    public List<UserDto> findPage(long after, int limit) {
+        String querySelect = "SELECT " + UserDtoRowMapper.COLUMNS + " FROM user_table WHERE id > ? ORDER BY id LIMIT ?";
+        return jdbcTemplate.query(querySelect, dtoRowMapper, after, limit);
+    }
+
+    @Override
+    public List<UserDto> search(UserSearchCriteria criteria, long after, int limit) {
+        return jdbcTemplate.query(searchQuery(criteria), dtoRowMapper, searchArguments(criteria, after, limit));
+    }
+
+    /**
+     * Only the filters that are set become predicates, so each combination gets a plan that can use its index.
+     */
+    static String searchQuery(UserSearchCriteria criteria) {
+        StringBuilder querySelect = new StringBuilder("SELECT " + UserDtoRowMapper.COLUMNS
+                + " FROM user_table WHERE id > ?");
+        if (criteria.usernamePrefix() != null) {
+            querySelect.append(" AND username LIKE ?");
+        }
+        if (criteria.usernameContains() != null) {
+            querySelect.append(" AND username LIKE ?");
+        }
+        if (criteria.status() != null) {
+            querySelect.append(" AND status = ?");
+        }
+        return querySelect.append(" ORDER BY id LIMIT ?").toString();
+    }
+
+    static Object[] searchArguments(UserSearchCriteria criteria, long after, int limit) {
+        List<Object> arguments = new ArrayList<>();
+        arguments.add(after);
+        if (criteria.usernamePrefix() != null) {
+            arguments.add(criteria.prefixPattern());
+        }
+        if (criteria.usernameContains() != null) {
+            arguments.add(criteria.containsPattern());
+        }
+        if (criteria.status() != null) {
+            arguments.add(criteria.status().getCode());
+        }
+        arguments.add(limit);
+        return arguments.toArray();
+    }
+
+    /**
+     * Walks the whole table through a server-side cursor, so only {@link #STREAM_FETCH_SIZE} rows are held at a time.
+     * PostgreSQL only honours the fetch size inside a transaction, so callers must run this in one.
+     */
+    @Override
+    public void forEach(Consumer<UserDto> action) {
+        String querySelect = "SELECT " + UserDtoRowMapper.COLUMNS + " FROM user_table ORDER BY id";
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(querySelect,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(STREAM_FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) rs -> action.accept(dtoRowMapper.mapRow(rs, rs.getRow())));
+    }
+
+    @Override
+    public UserTableVersion tableVersion() {
+        String querySelect = "SELECT version, changed_at FROM user_table_version";
+        return jdbcTemplate.queryForObject(querySelect, (rs, rowNum) ->
+                new UserTableVersion(rs.getLong("version"), rs.getTimestamp("changed_at").toInstant()));
+    }
+
+    /**
+     * Not read-only, so {@link az.edu.turing.domain.datasource.ReplicaRoutingDataSource} keeps it on the primary.
+     */
+    @Override
+    @Transactional
+    public long forEachUsername(Consumer<String> action) {
+        String querySelect = "SELECT username FROM user_table";
+        long[] count = new long[1];
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(querySelect,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(STREAM_FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) rs -> {
+            action.accept(rs.getString("username"));
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    /**
+     * Inserts the user unless the username is already taken, relying on the unique constraint instead of a prior lookup.
+     *
+     * @return the stored row, or empty when the username already exists
+     */
+    @Override
+    public Optional<UserEntity> insertIfAbsent(UserEntity userEntity) {
+        String queryInsert = """
+                INSERT INTO user_table (username, password, status)
+                VALUES (?,?,?)
+                ON CONFLICT (username) DO NOTHING
+                RETURNING *;
+                """;
+        List<UserEntity> results = jdbcTemplate.query(queryInsert, rowMapper,
+                userEntity.getUsername(),
+                userEntity.getPassword(),
+                userEntity.getStatus().getCode());
+        return results.isEmpty() ? Optional.empty() : Optional.of(results.getFirst());
+    }
+
+    /**
+     * Inserts the whole batch in one statement by unnesting parallel arrays; rows whose username is taken are skipped.
+     *
+     * @return the stored rows of the users that were actually inserted
+     */
+    @Override
+    public List<UserEntity> insertAllIfAbsent(List<UserEntity> userEntities) {
+        String queryInsert = """
+                INSERT INTO user_table (username, password, status)
+                SELECT u.username, u.password, u.status
+                FROM unnest(?::text[], ?::text[], ?::smallint[]) AS u(username, password, status)
+                ON CONFLICT (username) DO NOTHING
+                RETURNING *;
+                """;
+        String[] usernames = new String[userEntities.size()];
+        String[] passwords = new String[userEntities.size()];
+        Short[] statuses = new Short[userEntities.size()];
+        for (int i = 0; i < userEntities.size(); i++) {
+            usernames[i] = userEntities.get(i).getUsername();
+            passwords[i] = userEntities.get(i).getPassword();
+            statuses[i] = userEntities.get(i).getStatus().getCode();
+        }
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(queryInsert);
+            statement.setArray(1, connection.createArrayOf("text", usernames));
+            statement.setArray(2, connection.createArrayOf("text", passwords));
+            statement.setArray(3, connection.createArrayOf("smallint", statuses));
+            return statement;
+        }, rowMapper);
+    }
+
+    /**
+     * Compares the version in the same UPDATE, so a concurrent change is detected without a prior read; only a miss
+     * is followed by an existence check to tell a stale version from a missing user.
+     *
+     * @return the updated row, or empty when there is no user with this id
+     * @throws org.springframework.dao.DuplicateKeyException when the new username belongs to another user
+     */
+    @Override
+    public Optional<UserEntity> update(long id, String username, String password, Long expectedVersion) {
+        String queryUpdate = """
+                UPDATE user_table SET username = ?,
+                password = ?
+                WHERE id = ? AND version = coalesce(?::bigint, version)
+                RETURNING *;
+                """;
+        return updated(jdbcTemplate.query(queryUpdate, rowMapper, username, password, id, expectedVersion),
+                id, expectedVersion);
+    }
+
+    /**
+     * Locks the row to read its status before the change, so the statement also reports whether the status changed.
+     */
+    @Override
+    public Optional<UserStatusUpdate> updateStatus(long id, UserStatus status, Long expectedVersion) {
+        String queryUpdate = """
+                WITH previous AS (SELECT id, status FROM user_table WHERE id = ? FOR UPDATE)
+                UPDATE user_table u SET status = ?
+                FROM previous
+                WHERE u.id = previous.id AND u.version = coalesce(?::bigint, u.version)
+                RETURNING u.*, u.status <> previous.status AS status_changed;
+                """;
+        return updated(jdbcTemplate.query(queryUpdate, (rs, rowNum) ->
+                        new UserStatusUpdate(rowMapper.mapRow(rs, rowNum), rs.getBoolean("status_changed")),
+                id, status.getCode(), expectedVersion), id, expectedVersion);
+    }
+
+    private <T> Optional<T> updated(List<T> results, long id, Long expectedVersion) {
+        if (!results.isEmpty()) {
+            return Optional.of(results.getFirst());
+        }
+        String queryExists = "SELECT EXISTS (SELECT 1 FROM user_table WHERE id = ?)";
+        if (expectedVersion != null
+                && Boolean.TRUE.equals(jdbcTemplate.queryForObject(queryExists, Boolean.class, id))) {
+            throw new OptimisticLockingFailureException("User " + id + " is no longer at version " + expectedVersion);
         }
-//        USERS.add(userEntity);
-        return finByUsername(userEntity.getUsername()).get();
+        return Optional.empty();
+    }
+
+    /**
+     * Changes the status of all given users in one statement.
+     *
+     * @return the users whose status actually changed, as stored after the change
+     */
+    @Override
+    public List<UserDto> updateStatusByIds(List<Long> ids, UserStatus status) {
+        String queryUpdate = """
+                UPDATE user_table SET status = ?
+                WHERE id = ANY(?) AND status <> ?
+                RETURNING %s;
+                """.formatted(UserDtoRowMapper.COLUMNS);
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(queryUpdate);
+            statement.setShort(1, status.getCode());
+            statement.setArray(2, connection.createArrayOf("bigint", ids.toArray()));
+            statement.setShort(3, status.getCode());
+            return statement;
+        }, dtoRowMapper);
+    }
+
+    /**
+     * Moves up to {@code limit} users from {@code currentStatus} to {@code status}; call until it returns no users.
+     *
+     * @return the users whose status changed, as stored after the change
+     */
+    @Override
+    public List<UserDto> updateStatusByStatus(UserStatus currentStatus, UserStatus status, int limit) {
+        String queryUpdate = """
+                UPDATE user_table SET status = ?
+                WHERE id IN (SELECT id FROM user_table WHERE status = ? ORDER BY id LIMIT ?)
+                RETURNING %s;
+                """.formatted(UserDtoRowMapper.COLUMNS);
+        return jdbcTemplate.query(queryUpdate, dtoRowMapper, status.getCode(), currentStatus.getCode(), limit);
     }
 
-    public Optional<UserEntity> finByUsername(String username) {
+    @Override
+    public Optional<UserEntity> findByUsername(String username) {
         String querySelect = "SELECT * FROM user_table WHERE username = ?";
         List<UserEntity> results = jdbcTemplate.query(querySelect, rowMapper, username);
         return results.isEmpty() ? Optional.empty() : Optional.of(results.getFirst());
     }
 
-    public Optional<UserEntity> findById(long id) {
-        String querySelect = "SELECT* FROM user_table WHERE id = ?";
-        List<UserEntity> results = jdbcTemplate.query(querySelect, rowMapper, id);
-        return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
+    @Override
+    public List<UserDto> findAllByIds(List<Long> ids) {
+        return findAllBy("id", "bigint", ids);
+    }
+
+    @Override
+    public List<UserDto> findAllByUsernames(List<String> usernames) {
+        return findAllBy("username", "text", usernames);
     }
 
-    public boolean existsById(long id) {
-        String querySelect = "SELECT COUNT(*) FROM user_table WHERE id = ?";
-        return jdbcTemplate.queryForObject(querySelect, Integer.class, id) > 0;
+    /**
+     * Binds all keys as one array, so any number of keys shares a single statement and plan.
+     */
+    private List<UserDto> findAllBy(String column, String type, List<?> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        String querySelect = "SELECT " + UserDtoRowMapper.COLUMNS + " FROM user_table WHERE " + column + " = ANY(?)";
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(querySelect);
+            statement.setArray(1, connection.createArrayOf(type, keys.toArray()));
+            return statement;
+        }, dtoRowMapper);
     }
 
-    public void deleteById(long id) {
+    @Override
+    public Optional<UserEntity> deleteById(long id) {
         String queryDelete = """
                 UPDATE user_table SET status = ?
-                WHERE id = ?;
+                WHERE id = ?
+                RETURNING *;
                 """;
-        jdbcTemplate.update(queryDelete, UserStatus.DELETED.toString(), id);
+        List<UserEntity> results = jdbcTemplate.query(queryDelete, rowMapper, UserStatus.DELETED.getCode(), id);
+        return results.isEmpty() ? Optional.empty() : Optional.of(results.getFirst());
     }
 }
@@ -0,0 +1,216 @@
+package az.edu.turing.domain.repository;
+
+import az.edu.turing.domain.entity.UserEntity;
+import az.edu.turing.model.dto.UserDto;
+import az.edu.turing.model.enums.UserStatus;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * {@link UserRepository} on top of Hibernate. JPA has no {@code ON CONFLICT} or {@code RETURNING}, so conditional
+ * writes check first and status changes lock the affected ids before updating them; a username taken between the
+ * check and the write is caught from the unique constraint, as if the check had seen it.
+ */
+@RequiredArgsConstructor
+@Repository
+@Timed("users.repository")
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "app.users", name = "repository", havingValue = "jpa")
+public class JpaUserRepository implements UserRepository {
+
+    private final PostgresUserRepository userRepository;
+    private final EntityManager entityManager;
+
+    @Override
+    public List<UserDto> findPage(long after, int limit) {
+        return userRepository.findDtoByIdGreaterThanOrderByIdAsc(after, Limit.of(limit));
+    }
+
+    @Override
+    public List<UserDto> search(UserSearchCriteria criteria, long after, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UserDto> query = builder.createQuery(UserDto.class);
+        Root<UserEntity> user = query.from(UserEntity.class);
+        query.select(builder.construct(UserDto.class, user.get("id"), user.get("username"), user.get("status"),
+                user.get("version"), user.get("updatedAt")));
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(builder.greaterThan(user.get("id"), after));
+        if (criteria.usernamePrefix() != null) {
+            predicates.add(builder.like(user.get("username"), criteria.prefixPattern(), '\\'));
+        }
+        if (criteria.usernameContains() != null) {
+            predicates.add(builder.like(user.get("username"), criteria.containsPattern(), '\\'));
+        }
+        if (criteria.status() != null) {
+            predicates.add(builder.equal(user.get("status"), criteria.status()));
+        }
+        query.where(predicates.toArray(Predicate[]::new)).orderBy(builder.asc(user.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public void forEach(Consumer<UserDto> action) {
+        try (Stream<UserDto> users = userRepository.streamDtos()) {
+            users.forEach(action);
+        }
+    }
+
+    @Override
+    public UserTableVersion tableVersion() {
+        Object[] row = (Object[]) entityManager.createNativeQuery("SELECT version, changed_at FROM user_table_version")
+                .unwrap(NativeQuery.class)
+                .addScalar("version", Long.class)
+                .addScalar("changed_at", Instant.class)
+                .getSingleResult();
+        return new UserTableVersion((Long) row[0], (Instant) row[1]);
+    }
+
+    /**
+     * Not read-only, so {@link az.edu.turing.domain.datasource.ReplicaRoutingDataSource} keeps it on the primary.
+     */
+    @Override
+    @Transactional
+    public long forEachUsername(Consumer<String> action) {
+        long[] count = new long[1];
+        try (Stream<String> usernames = userRepository.streamUsernames()) {
+            usernames.forEach(username -> {
+                action.accept(username);
+                count[0]++;
+            });
+        }
+        return count[0];
+    }
+
+    @Override
+    public Optional<UserEntity> findByUsername(String username) {
+        return userRepository.findByUsername(username);
+    }
+
+    @Override
+    public List<UserDto> findAllByIds(List<Long> ids) {
+        return ids.isEmpty() ? List.of() : userRepository.findDtoByIdIn(ids);
+    }
+
+    @Override
+    public List<UserDto> findAllByUsernames(List<String> usernames) {
+        return usernames.isEmpty() ? List.of() : userRepository.findDtoByUsernameIn(usernames);
+    }
+
+    /**
+     * A username inserted concurrently after the check is reported as taken too, but PostgreSQL has then aborted the
+     * transaction, so callers must roll it back, as they do for a taken username anyway.
+     */
+    @Override
+    @Transactional
+    public Optional<UserEntity> insertIfAbsent(UserEntity userEntity) {
+        if (userRepository.existsByUsername(userEntity.getUsername())) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(userRepository.saveAndFlush(userEntity));
+        } catch (DataIntegrityViolationException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    @Transactional
+    public List<UserEntity> insertAllIfAbsent(List<UserEntity> userEntities) {
+        Set<String> taken = new HashSet<>(userRepository.findUsernamesIn(userEntities.stream()
+                .map(UserEntity::getUsername)
+                .toList()));
+        return userRepository.saveAll(userEntities.stream()
+                .filter(userEntity -> !taken.contains(userEntity.getUsername()))
+                .toList());
+    }
+
+    @Override
+    @Transactional
+    public Optional<UserEntity> update(long id, String username, String password, Long expectedVersion) {
+        Optional<UserEntity> found = userRepository.findById(id);
+        return found.map(userEntity -> {
+            checkVersion(userEntity, expectedVersion);
+            userEntity.setUsername(username);
+            userEntity.setPassword(password);
+            try {
+                return userRepository.saveAndFlush(userEntity);
+            } catch (DataIntegrityViolationException e) {
+                throw new DuplicateKeyException("Username already taken", e);
+            }
+        });
+    }
+
+    @Override
+    @Transactional
+    public Optional<UserStatusUpdate> updateStatus(long id, UserStatus status, Long expectedVersion) {
+        Optional<UserEntity> found = userRepository.findById(id);
+        return found.map(userEntity -> {
+            checkVersion(userEntity, expectedVersion);
+            boolean changed = userEntity.getStatus() != status;
+            userEntity.setStatus(status);
+            return new UserStatusUpdate(userRepository.saveAndFlush(userEntity), changed);
+        });
+    }
+
+    @Override
+    @Transactional
+    public List<UserDto> updateStatusByIds(List<Long> ids, UserStatus status) {
+        return changeStatus(userRepository.findIdsByIdInAndStatusNot(ids, status), status);
+    }
+
+    @Override
+    @Transactional
+    public List<UserDto> updateStatusByStatus(UserStatus currentStatus, UserStatus status, int limit) {
+        return changeStatus(userRepository.findIdsByStatus(currentStatus, PageRequest.ofSize(limit)), status);
+    }
+
+    @Override
+    @Transactional
+    public Optional<UserEntity> deleteById(long id) {
+        return updateStatus(id, UserStatus.DELETED).map(UserStatusUpdate::user);
+    }
+
+    /**
+     * Updates the locked ids and reads them back, so the returned rows carry the versions the update trigger set.
+     */
+    private List<UserDto> changeStatus(List<Long> lockedIds, UserStatus status) {
+        if (lockedIds.isEmpty()) {
+            return List.of();
+        }
+        userRepository.updateStatusByIdIn(lockedIds, status);
+        return userRepository.findDtoByIdIn(lockedIds);
+    }
+
+    /**
+     * Checks the version the caller read; a change committed after this read is caught by {@code @Version} at flush.
+     */
+    private static void checkVersion(UserEntity userEntity, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(userEntity.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(UserEntity.class, userEntity.getId());
+        }
+    }
+}
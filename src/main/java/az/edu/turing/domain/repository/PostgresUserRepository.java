@@ -1,16 +1,65 @@
 package az.edu.turing.domain.repository;
 
 import az.edu.turing.domain.entity.UserEntity;
+import az.edu.turing.model.dto.UserDto;
+import az.edu.turing.model.enums.UserStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PostgresUserRepository extends JpaRepository<UserEntity, Long> {
 
     Optional<UserEntity> findByUsername(String username);
     boolean existsByUsername(String username);
-}
+    List<UserEntity> findByIdGreaterThanOrderByIdAsc(long id, Limit limit);
+
+    @Query("SELECT new az.edu.turing.model.dto.UserDto(u.id, u.username, u.status, u.version, u.updatedAt)"
+            + " FROM UserEntity u WHERE u.id > :id ORDER BY u.id")
+    List<UserDto> findDtoByIdGreaterThanOrderByIdAsc(long id, Limit limit);
+
+    @Query("SELECT new az.edu.turing.model.dto.UserDto(u.id, u.username, u.status, u.version, u.updatedAt)"
+            + " FROM UserEntity u WHERE u.id IN :ids")
+    List<UserDto> findDtoByIdIn(Collection<Long> ids);
+
+    @Query("SELECT new az.edu.turing.model.dto.UserDto(u.id, u.username, u.status, u.version, u.updatedAt)"
+            + " FROM UserEntity u WHERE u.username IN :usernames")
+    List<UserDto> findDtoByUsernameIn(Collection<String> usernames);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new az.edu.turing.model.dto.UserDto(u.id, u.username, u.status, u.version, u.updatedAt)"
+            + " FROM UserEntity u ORDER BY u.id")
+    Stream<UserDto> streamDtos();
 
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT u.username FROM UserEntity u")
+    Stream<String> streamUsernames();
 
+    @Query("SELECT u.username FROM UserEntity u WHERE u.username IN :usernames")
+    List<String> findUsernamesIn(Collection<String> usernames);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u.id FROM UserEntity u WHERE u.id IN :ids AND u.status <> :status")
+    List<Long> findIdsByIdInAndStatusNot(Collection<Long> ids, UserStatus status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u.id FROM UserEntity u WHERE u.status = :status ORDER BY u.id")
+    List<Long> findIdsByStatus(UserStatus status, Pageable pageable);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE UserEntity u SET u.status = :status WHERE u.id IN :ids")
+    int updateStatusByIdIn(Collection<Long> ids, UserStatus status);
+}
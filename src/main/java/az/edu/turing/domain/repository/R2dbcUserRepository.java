@@ -0,0 +1,189 @@
+package az.edu.turing.domain.repository;
+
+import az.edu.turing.domain.entity.UserEntity;
+import az.edu.turing.mapper.UserDtoRowMapper;
+import az.edu.turing.model.dto.UserDto;
+import az.edu.turing.model.enums.UserStatus;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reactive counterpart of {@link JdbcTemplateUserRepository}, issuing the same statements through R2DBC.
+ */
+@RequiredArgsConstructor
+@Repository
+@Profile("reactive")
+public class R2dbcUserRepository {
+
+    private static final int STREAM_FETCH_SIZE = 1_000;
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<UserDto> findPage(long after, int limit) {
+        String querySelect = "SELECT " + UserDtoRowMapper.COLUMNS + " FROM user_table WHERE id > $1 ORDER BY id LIMIT $2";
+        return databaseClient.sql(querySelect)
+                .bind(0, after)
+                .bind(1, limit)
+                .map(R2dbcUserRepository::mapDto)
+                .all();
+    }
+
+    public Flux<UserDto> search(UserSearchCriteria criteria, long after, int limit) {
+        StringBuilder querySelect = new StringBuilder("SELECT " + UserDtoRowMapper.COLUMNS
+                + " FROM user_table WHERE id > $1");
+        List<Object> arguments = new ArrayList<>(List.of(after));
+        if (criteria.usernamePrefix() != null) {
+            arguments.add(criteria.prefixPattern());
+            querySelect.append(" AND username LIKE $").append(arguments.size());
+        }
+        if (criteria.usernameContains() != null) {
+            arguments.add(criteria.containsPattern());
+            querySelect.append(" AND username LIKE $").append(arguments.size());
+        }
+        if (criteria.status() != null) {
+            arguments.add(criteria.status().getCode());
+            querySelect.append(" AND status = $").append(arguments.size());
+        }
+        arguments.add(limit);
+        querySelect.append(" ORDER BY id LIMIT $").append(arguments.size());
+        DatabaseClient.GenericExecuteSpec statement = databaseClient.sql(querySelect.toString());
+        for (int i = 0; i < arguments.size(); i++) {
+            statement = statement.bind(i, arguments.get(i));
+        }
+        return statement.map(R2dbcUserRepository::mapDto).all();
+    }
+
+    /**
+     * Streams the whole table; rows are fetched {@link #STREAM_FETCH_SIZE} at a time as the subscriber requests them.
+     */
+    public Flux<UserDto> findAll() {
+        String querySelect = "SELECT " + UserDtoRowMapper.COLUMNS + " FROM user_table ORDER BY id";
+        return databaseClient.sql(querySelect)
+                .filter(statement -> statement.fetchSize(STREAM_FETCH_SIZE))
+                .map(R2dbcUserRepository::mapDto)
+                .all();
+    }
+
+    public Mono<UserEntity> findByUsername(String username) {
+        String querySelect = "SELECT * FROM user_table WHERE username = $1";
+        return databaseClient.sql(querySelect)
+                .bind(0, username)
+                .map(R2dbcUserRepository::mapRow)
+                .one();
+    }
+
+    /**
+     * @return the stored row, or empty when the username already exists
+     */
+    public Mono<UserEntity> insertIfAbsent(UserEntity userEntity) {
+        String queryInsert = """
+                INSERT INTO user_table (username, password, status)
+                VALUES ($1, $2, $3)
+                ON CONFLICT (username) DO NOTHING
+                RETURNING *;
+                """;
+        return databaseClient.sql(queryInsert)
+                .bind(0, userEntity.getUsername())
+                .bind(1, userEntity.getPassword())
+                .bind(2, userEntity.getStatus().getCode())
+                .map(R2dbcUserRepository::mapRow)
+                .one();
+    }
+
+    /**
+     * @return the updated row, or empty when there is no user with this id; errors with
+     * {@link org.springframework.dao.DuplicateKeyException} when the new username belongs to another user
+     */
+    public Mono<UserEntity> update(long id, String username, String password) {
+        String queryUpdate = """
+                UPDATE user_table SET username = $1,
+                password = $2
+                WHERE id = $3
+                RETURNING *;
+                """;
+        return databaseClient.sql(queryUpdate)
+                .bind(0, username)
+                .bind(1, password)
+                .bind(2, id)
+                .map(R2dbcUserRepository::mapRow)
+                .one();
+    }
+
+    public Mono<UserEntity> updateStatus(long id, UserStatus status) {
+        String queryUpdate = """
+                UPDATE user_table SET status = $1
+                WHERE id = $2
+                RETURNING *;
+                """;
+        return databaseClient.sql(queryUpdate)
+                .bind(0, status.getCode())
+                .bind(1, id)
+                .map(R2dbcUserRepository::mapRow)
+                .one();
+    }
+
+    public Flux<UserDto> updateStatusByIds(List<Long> ids, UserStatus status) {
+        String queryUpdate = """
+                UPDATE user_table SET status = $1
+                WHERE id = ANY($2) AND status <> $1
+                RETURNING %s;
+                """.formatted(UserDtoRowMapper.COLUMNS);
+        return databaseClient.sql(queryUpdate)
+                .bind(0, status.getCode())
+                .bind(1, ids.toArray(Long[]::new))
+                .map(R2dbcUserRepository::mapDto)
+                .all();
+    }
+
+    public Flux<UserDto> updateStatusByStatus(UserStatus currentStatus, UserStatus status, int limit) {
+        String queryUpdate = """
+                UPDATE user_table SET status = $1
+                WHERE id IN (SELECT id FROM user_table WHERE status = $2 ORDER BY id LIMIT $3)
+                RETURNING %s;
+                """.formatted(UserDtoRowMapper.COLUMNS);
+        return databaseClient.sql(queryUpdate)
+                .bind(0, status.getCode())
+                .bind(1, currentStatus.getCode())
+                .bind(2, limit)
+                .map(R2dbcUserRepository::mapDto)
+                .all();
+    }
+
+    public Mono<UserEntity> deleteById(long id) {
+        String queryDelete = """
+                UPDATE user_table SET status = $1
+                WHERE id = $2
+                RETURNING *;
+                """;
+        return databaseClient.sql(queryDelete)
+                .bind(0, UserStatus.DELETED.getCode())
+                .bind(1, id)
+                .map(R2dbcUserRepository::mapRow)
+                .one();
+    }
+
+    private static UserDto mapDto(Readable row) {
+        return new UserDto(row.get(0, Long.class), row.get(1, String.class),
+                UserStatus.fromCode(row.get(2, Short.class)), row.get(3, Long.class), row.get(4, Instant.class));
+    }
+
+    private static UserEntity mapRow(Readable row) {
+        return UserEntity.builder()
+                .id(row.get("id", Long.class))
+                .username(row.get("username", String.class))
+                .password(row.get("password", String.class))
+                .status(UserStatus.fromCode(row.get("status", Short.class)))
+                .version(row.get("version", Long.class))
+                .updatedAt(row.get("updated_at", Instant.class))
+                .build();
+    }
+}
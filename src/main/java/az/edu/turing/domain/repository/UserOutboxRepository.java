@@ -0,0 +1,148 @@
+package az.edu.turing.domain.repository;
+
+import az.edu.turing.config.ConditionalOnUserDatabase;
+import az.edu.turing.domain.entity.UserEntity;
+import az.edu.turing.model.enums.UserChangeType;
+import az.edu.turing.model.enums.UserStatus;
+import az.edu.turing.model.event.UserChangeEvent;
+import az.edu.turing.outbox.UserChangeOutbox;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+/**
+ * The {@code user_outbox} table. Events are appended by the transaction that changes the user and removed by the
+ * relay once a sink has accepted them. Only used when users live in PostgreSQL as well: a transaction spanning both
+ * is what keeps the event and the change together.
+ */
+@RequiredArgsConstructor
+@Repository
+@Timed("users.repository")
+@Profile("!reactive")
+@ConditionalOnUserDatabase
+public class UserOutboxRepository implements UserChangeOutbox {
+
+    /**
+     * Advisory lock key held by the relay for one batch, so only one instance drains the table at a time.
+     */
+    public static final long RELAY_LOCK_KEY = 0x55534552_4f555442L;
+
+    private static final RowMapper<UserChangeEvent> EVENT_ROW_MAPPER = (rs, rowNum) -> UserChangeEvent.builder()
+            .id(rs.getLong("id"))
+            .userId(rs.getLong("user_id"))
+            .type(UserChangeType.fromCode(rs.getShort("type")))
+            .username(rs.getString("username"))
+            .status(UserStatus.fromCode(rs.getShort("status")))
+            .occurredAt(rs.getTimestamp("occurred_at").toInstant())
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Must join the transaction that wrote the change, otherwise the event could outlive a rolled-back write or be
+     * lost after a committed one.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(UserChangeType type, long userId, String username, UserStatus status) {
+        String queryInsert = """
+                INSERT INTO user_outbox (user_id, type, username, status)
+                VALUES (?, ?, ?, ?);
+                """;
+        jdbcTemplate.update(queryInsert, userId, type.getCode(), username, status.getCode());
+    }
+
+    /**
+     * Appends one event per id in a single statement.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(UserChangeType type, List<Long> ids, UserStatus status) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        String queryInsert = """
+                INSERT INTO user_outbox (user_id, type, status)
+                SELECT id, ?, ? FROM unnest(?::bigint[]) WITH ORDINALITY AS ids(id, position)
+                ORDER BY position;
+                """;
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(queryInsert);
+            statement.setShort(1, type.getCode());
+            statement.setShort(2, status.getCode());
+            statement.setArray(3, connection.createArrayOf("bigint", ids.toArray()));
+            return statement;
+        });
+    }
+
+    /**
+     * Appends one event per user in a single statement, in list order.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendCreated(List<UserEntity> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        String queryInsert = """
+                INSERT INTO user_outbox (user_id, type, username, status)
+                SELECT u.id, ?, u.username, u.status
+                FROM unnest(?::bigint[], ?::text[], ?::smallint[]) WITH ORDINALITY AS u(id, username, status, position)
+                ORDER BY position;
+                """;
+        Long[] ids = new Long[users.size()];
+        String[] usernames = new String[users.size()];
+        Short[] statuses = new Short[users.size()];
+        for (int i = 0; i < users.size(); i++) {
+            ids[i] = users.get(i).getId();
+            usernames[i] = users.get(i).getUsername();
+            statuses[i] = users.get(i).getStatus().getCode();
+        }
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(queryInsert);
+            statement.setShort(1, UserChangeType.CREATED.getCode());
+            statement.setArray(2, connection.createArrayOf("bigint", ids));
+            statement.setArray(3, connection.createArrayOf("text", usernames));
+            statement.setArray(4, connection.createArrayOf("smallint", statuses));
+            return statement;
+        });
+    }
+
+    /**
+     * @return false when another relay holds the lock; otherwise the lock is kept until the transaction ends
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean tryLockRelay() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)",
+                Boolean.class, RELAY_LOCK_KEY));
+    }
+
+    /**
+     * @return the oldest {@code limit} events, ordered by id
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<UserChangeEvent> findBatch(int limit) {
+        String querySelect = "SELECT * FROM user_outbox ORDER BY id LIMIT ?";
+        return jdbcTemplate.query(querySelect, EVENT_ROW_MAPPER, limit);
+    }
+
+    /**
+     * Deletes exactly the published ids: an event with a lower id can still commit after the batch was read.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int deleteAll(List<Long> ids) {
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement("DELETE FROM user_outbox WHERE id = ANY(?)");
+            statement.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+            return statement;
+        });
+    }
+}
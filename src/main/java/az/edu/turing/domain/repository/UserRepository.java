@@ -0,0 +1,112 @@
+package az.edu.turing.domain.repository;
+
+import az.edu.turing.domain.entity.UserEntity;
+import az.edu.turing.model.dto.UserDto;
+import az.edu.turing.model.enums.UserStatus;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Storage port for users. List reads return {@link UserDto} projections of the public columns and never build a
+ * {@link UserEntity}; single-user reads and writes work on entities.
+ * <p> {@code app.users.repository} selects the implementation: {@code jdbc} (default,
+ * {@link JdbcTemplateUserRepository}), {@code jpa} ({@link JpaUserRepository}) or {@code memory}
+ * ({@link InMemoryUserRepository}).
+ */
+public interface UserRepository {
+
+    /**
+     * @return up to {@code limit} users with an id greater than {@code after}, ordered by id
+     */
+    List<UserDto> findPage(long after, int limit);
+
+    /**
+     * @return up to {@code limit} users matching {@code criteria} with an id greater than {@code after}, ordered by id
+     */
+    List<UserDto> search(UserSearchCriteria criteria, long after, int limit);
+
+    /**
+     * Visits every user in id order without holding the whole table in memory; callers must run this in a
+     * transaction.
+     */
+    void forEach(Consumer<UserDto> action);
+
+    /**
+     * Read it before the users it describes: a list read afterwards is then at least as new as the version.
+     */
+    UserTableVersion tableVersion();
+
+    /**
+     * Reads from the primary even when replicas are configured: the username filter is seeded from it, and a
+     * username missing on a lagging replica would be reported as absent.
+     *
+     * @return number of usernames visited
+     */
+    long forEachUsername(Consumer<String> action);
+
+    Optional<UserEntity> findByUsername(String username);
+
+    /**
+     * @return the users with these ids in one query, in no particular order; unknown ids are skipped
+     */
+    List<UserDto> findAllByIds(List<Long> ids);
+
+    /**
+     * @return the users with these usernames in one query, in no particular order; unknown usernames are skipped
+     */
+    List<UserDto> findAllByUsernames(List<String> usernames);
+
+    /**
+     * @return the stored row, or empty when the username already exists
+     */
+    Optional<UserEntity> insertIfAbsent(UserEntity userEntity);
+
+    /**
+     * @return the stored rows of the users that were actually inserted; taken usernames are skipped
+     */
+    List<UserEntity> insertAllIfAbsent(List<UserEntity> userEntities);
+
+    default Optional<UserEntity> update(long id, String username, String password) {
+        return update(id, username, password, null);
+    }
+
+    /**
+     * @param expectedVersion version the user must still be at, or null to update unconditionally
+     * @return the updated row, or empty when there is no user with this id
+     * @throws org.springframework.dao.DuplicateKeyException when the new username belongs to another user
+     * @throws org.springframework.dao.OptimisticLockingFailureException when the user is at another version
+     */
+    Optional<UserEntity> update(long id, String username, String password, Long expectedVersion);
+
+    default Optional<UserStatusUpdate> updateStatus(long id, UserStatus status) {
+        return updateStatus(id, status, null);
+    }
+
+    /**
+     * @param expectedVersion version the user must still be at, or null to update unconditionally
+     * @return the updated row and whether its status changed, or empty when there is no user with this id
+     * @throws org.springframework.dao.OptimisticLockingFailureException when the user is at another version
+     */
+    Optional<UserStatusUpdate> updateStatus(long id, UserStatus status, Long expectedVersion);
+
+    /**
+     * @return the users whose status actually changed, as stored after the change
+     */
+    List<UserDto> updateStatusByIds(List<Long> ids, UserStatus status);
+
+    /**
+     * Moves up to {@code limit} users from {@code currentStatus} to {@code status}; call until it returns no users.
+     *
+     * @return the users whose status changed, as stored after the change
+     */
+    List<UserDto> updateStatusByStatus(UserStatus currentStatus, UserStatus status, int limit);
+
+    /**
+     * Marks the user as {@link UserStatus#DELETED}.
+     *
+     * @return the row as stored after the change, or empty when there is no user with this id
+     */
+    Optional<UserEntity> deleteById(long id);
+}
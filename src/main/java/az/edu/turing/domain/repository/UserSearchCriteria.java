@@ -0,0 +1,37 @@
+package az.edu.turing.domain.repository;
+
+import az.edu.turing.model.enums.UserStatus;
+
+/**
+ * Filters for {@link UserRepository#search}; null fields are not applied, the rest are combined with AND.
+ * Username matches are case-sensitive.
+ */
+public record UserSearchCriteria(String usernamePrefix, String usernameContains, UserStatus status) {
+
+    /**
+     * @return LIKE pattern for the prefix, or null when no prefix is set
+     */
+    public String prefixPattern() {
+        return usernamePrefix == null ? null : escapeLike(usernamePrefix) + "%";
+    }
+
+    /**
+     * @return LIKE pattern for the substring, or null when no substring is set
+     */
+    public String containsPattern() {
+        return usernameContains == null ? null : "%" + escapeLike(usernameContains) + "%";
+    }
+
+    public boolean matches(String username, UserStatus userStatus) {
+        return (usernamePrefix == null || username.startsWith(usernamePrefix))
+                && (usernameContains == null || username.contains(usernameContains))
+                && (status == null || status == userStatus);
+    }
+
+    /**
+     * Escapes LIKE wildcards with backslash, PostgreSQL's default escape character.
+     */
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,10 @@
+package az.edu.turing.domain.repository;
+
+import az.edu.turing.domain.entity.UserEntity;
+
+/**
+ * Outcome of a single-user status write: the row as stored afterwards, and whether the status actually changed or
+ * the user already had it.
+ */
+public record UserStatusUpdate(UserEntity user, boolean changed) {
+}
@@ -0,0 +1,10 @@
+package az.edu.turing.domain.repository;
+
+import java.time.Instant;
+
+/**
+ * Table-wide change marker: {@code version} moves on every write to any user, so a list read at one version is
+ * still current while the version is unchanged.
+ */
+public record UserTableVersion(long version, Instant changedAt) {
+}
@@ -0,0 +1,46 @@
+package az.edu.turing.domain.schema;
+
+import az.edu.turing.config.ConditionalOnUserDatabase;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Refuses to start when the indexes created by the migrations are missing, instead of silently serving every
+ * username lookup with a sequential scan. Flyway migrates before any {@link JdbcTemplate} is handed out, so the
+ * check sees the migrated schema.
+ */
+@RequiredArgsConstructor
+@Log4j2
+@Component
+@Profile("!reactive")
+@ConditionalOnUserDatabase
+public class UserTableIndexCheck {
+
+    static final List<String> REQUIRED_INDEXES = List.of("ux_user_table_username", "ix_user_table_username_live",
+            "ix_user_table_username_prefix", "ix_user_table_username_trgm", "ix_user_table_status_id");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void verify() {
+        String querySelect = """
+                SELECT indexname FROM pg_indexes
+                WHERE schemaname = current_schema() AND tablename = 'user_table'
+                """;
+        Set<String> missing = new HashSet<>(REQUIRED_INDEXES);
+        jdbcTemplate.queryForList(querySelect, String.class).forEach(missing::remove);
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("user_table is missing required indexes " + missing
+                    + "; run the database migrations before starting the application");
+        }
+        log.info("user_table indexes verified: {}", REQUIRED_INDEXES);
+    }
+}
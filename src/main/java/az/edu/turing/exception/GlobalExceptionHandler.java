@@ -1,7 +1,10 @@
 package az.edu.turing.exception;
 
 import az.edu.turing.model.constants.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -9,16 +12,21 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.server.ServerWebInputException;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+@RequiredArgsConstructor
 @Log4j2
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
     @ExceptionHandler(NotFoundException.class)
     public ResponseEntity<GlobalErrorResponse> handleNotFoundException(NotFoundException e) {
+        countError(HttpStatus.NOT_FOUND, ErrorCode.NOT_FOUND);
         return ResponseEntity.status(HttpStatus.NOT_FOUND)
                 .body(GlobalErrorResponse.builder()
                         .errorCode(ErrorCode.NOT_FOUND)
@@ -31,6 +39,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(AlreadyExistsException.class)
     public ResponseEntity<GlobalErrorResponse> handleAlreadyExistsException(AlreadyExistsException e) {
+        countError(HttpStatus.CONFLICT, ErrorCode.ALREADY_EXISTS);
         return ResponseEntity.status(HttpStatus.CONFLICT)
                 .body(GlobalErrorResponse.builder()
                         .errorCode(ErrorCode.ALREADY_EXISTS)
@@ -43,6 +52,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(InvalidInputException.class)
     public ResponseEntity<GlobalErrorResponse> handleInvalidInputException(InvalidInputException e) {
+        countError(HttpStatus.BAD_REQUEST, ErrorCode.INVALID_INPUT);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(GlobalErrorResponse.builder()
                         .errorCode(ErrorCode.INVALID_INPUT)
@@ -53,8 +63,35 @@ public class GlobalExceptionHandler {
                 );
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<GlobalErrorResponse> handlePreconditionFailedException(PreconditionFailedException e) {
+        countError(HttpStatus.PRECONDITION_FAILED, ErrorCode.PRECONDITION_FAILED);
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .body(GlobalErrorResponse.builder()
+                        .errorCode(ErrorCode.PRECONDITION_FAILED)
+                        .errorMessage(e.getMessage())
+                        .timeStamp(LocalDateTime.now())
+                        .requestId(UUID.randomUUID())
+                        .build()
+                );
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<GlobalErrorResponse> handleServiceUnavailableException(ServiceUnavailableException e) {
+        countError(HttpStatus.SERVICE_UNAVAILABLE, ErrorCode.SERVICE_UNAVAILABLE);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(GlobalErrorResponse.builder()
+                        .errorCode(ErrorCode.SERVICE_UNAVAILABLE)
+                        .errorMessage(e.getMessage())
+                        .timeStamp(LocalDateTime.now())
+                        .requestId(UUID.randomUUID())
+                        .build()
+                );
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<GlobalErrorResponse> handleMethodArgumentNotValidException(MethodArgumentNotValidException e) {
+        countError(HttpStatus.BAD_REQUEST, ErrorCode.BAD_REQUEST);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(GlobalErrorResponse.builder()
                         .errorCode(ErrorCode.BAD_REQUEST)
@@ -67,6 +104,20 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
     public ResponseEntity<GlobalErrorResponse> handleArgumentTypeMismatchException(MethodArgumentTypeMismatchException e) {
+        countError(HttpStatus.BAD_REQUEST, ErrorCode.BAD_REQUEST);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(GlobalErrorResponse.builder()
+                        .errorCode(ErrorCode.BAD_REQUEST)
+                        .errorMessage(e.getMessage())
+                        .timeStamp(LocalDateTime.now())
+                        .requestId(UUID.randomUUID())
+                        .build()
+                );
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<GlobalErrorResponse> handleServerWebInputException(ServerWebInputException e) {
+        countError(HttpStatus.BAD_REQUEST, ErrorCode.BAD_REQUEST);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(GlobalErrorResponse.builder()
                         .errorCode(ErrorCode.BAD_REQUEST)
@@ -79,6 +130,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<GlobalErrorResponse> handleConstraintViolationException(ConstraintViolationException e) {
+        countError(HttpStatus.BAD_REQUEST, ErrorCode.BAD_REQUEST);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(GlobalErrorResponse.builder()
                         .errorCode(ErrorCode.BAD_REQUEST)
@@ -88,4 +140,13 @@ public class GlobalExceptionHandler {
                         .build()
                 );
     }
+
+    private void countError(HttpStatus status, String errorCode) {
+        Counter.builder("users.errors")
+                .description("Errors returned through GlobalExceptionHandler")
+                .tag("code", errorCode)
+                .tag("status", String.valueOf(status.value()))
+                .register(meterRegistry)
+                .increment();
+    }
 }
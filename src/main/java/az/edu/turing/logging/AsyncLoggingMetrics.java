@@ -0,0 +1,18 @@
+package az.edu.turing.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AsyncLoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("logging.async.dropped", CountingDiscardPolicy.class,
+                        policy -> CountingDiscardPolicy.droppedEvents())
+                .description("Log events dropped because the async logger ring buffer was full")
+                .register(registry);
+    }
+}
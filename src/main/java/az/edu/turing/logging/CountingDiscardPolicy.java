@@ -0,0 +1,35 @@
+package az.edu.turing.logging;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.async.DiscardingAsyncQueueFullPolicy;
+import org.apache.logging.log4j.core.async.EventRoute;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ring-buffer-full policy for the async loggers, registered through {@code log4j2.asyncQueueFullPolicy}: INFO and
+ * below are dropped so request threads never wait on the appenders, WARN and above still block until there is room.
+ * Log4j2 instantiates it by class name, so dropped events are counted in a static adder for
+ * {@link AsyncLoggingMetrics}.
+ */
+public class CountingDiscardPolicy extends DiscardingAsyncQueueFullPolicy {
+
+    private static final LongAdder DROPPED = new LongAdder();
+
+    public CountingDiscardPolicy() {
+        super(Level.INFO);
+    }
+
+    @Override
+    public EventRoute getRoute(long backgroundThreadId, Level level) {
+        EventRoute route = super.getRoute(backgroundThreadId, level);
+        if (route == EventRoute.DISCARD) {
+            DROPPED.increment();
+        }
+        return route;
+    }
+
+    public static long droppedEvents() {
+        return DROPPED.sum();
+    }
+}
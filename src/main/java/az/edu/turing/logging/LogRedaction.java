@@ -0,0 +1,22 @@
+package az.edu.turing.logging;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Masks personal data before it reaches a log line; entities are logged field by field, never via {@code toString()}.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class LogRedaction {
+
+    /**
+     * Keeps the first character and the domain, e.g. {@code r***@gmail.com}.
+     */
+    public static String username(String username) {
+        if (username == null || username.isEmpty()) {
+            return username;
+        }
+        int at = username.indexOf('@');
+        return username.charAt(0) + "***" + (at > 0 ? username.substring(at) : "");
+    }
+}
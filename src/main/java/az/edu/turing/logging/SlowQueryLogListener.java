@@ -0,0 +1,89 @@
+package az.edu.turing.logging;
+
+import az.edu.turing.config.properties.SlowQueryLogProperties;
+import lombok.extern.log4j.Log4j2;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Logs statements slower than the configured threshold, plus a 1-in-N sample of the rest, with the service method
+ * that issued them. Everything else costs one clock comparison, and the caller lookup only runs for logged statements.
+ */
+@Log4j2
+public class SlowQueryLogListener implements QueryExecutionListener {
+
+    private static final String CALLER_PACKAGE = "az.edu.turing.service.";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final long thresholdMillis;
+    private final int sampleRate;
+    private final boolean redactParameters;
+
+    public SlowQueryLogListener(SlowQueryLogProperties properties) {
+        this.thresholdMillis = properties.getThreshold().toMillis();
+        this.sampleRate = properties.getSampleRate();
+        this.redactParameters = properties.isRedactParameters();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = execInfo.getElapsedTime();
+        if (elapsed >= thresholdMillis) {
+            log.warn("Slow query {}ms caller={} success={} query={} params={}", elapsed, caller(),
+                    execInfo.isSuccess(), queries(queryInfoList), parameters(queryInfoList));
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextInt(sampleRate) == 0) {
+            log.info("Sampled query {}ms caller={} success={} query={} params={}", elapsed, caller(),
+                    execInfo.isSuccess(), queries(queryInfoList), parameters(queryInfoList));
+        }
+    }
+
+    /**
+     * First frame in the service layer, skipping the Spring proxies around the service beans and lambda bodies so the
+     * enclosing service method is reported.
+     */
+    static String caller() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(CALLER_PACKAGE)
+                        && !frame.getClassName().contains("$$")
+                        && !frame.getMethodName().startsWith("lambda$"))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(CALLER_PACKAGE.length()) + "." + frame.getMethodName())
+                .orElse("-"));
+    }
+
+    private static String queries(List<QueryInfo> queryInfoList) {
+        return queryInfoList.stream()
+                .map(queryInfo -> queryInfo.getQuery().replaceAll("\\s+", " ").trim())
+                .collect(Collectors.joining("; "));
+    }
+
+    private String parameters(List<QueryInfo> queryInfoList) {
+        return queryInfoList.stream()
+                .flatMap(queryInfo -> queryInfo.getParametersList().stream())
+                .map(this::parameterSet)
+                .collect(Collectors.joining(", "));
+    }
+
+    private String parameterSet(List<ParameterSetOperation> operations) {
+        return operations.stream()
+                .map(operation -> operation.getArgs().length > 1 ? describe(operation.getArgs()[1]) : "?")
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private String describe(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        return redactParameters ? value.getClass().getSimpleName() : String.valueOf(value);
+    }
+}
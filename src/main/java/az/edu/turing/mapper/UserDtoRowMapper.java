@@ -0,0 +1,25 @@
+package az.edu.turing.mapper;
+
+import az.edu.turing.model.dto.UserDto;
+import az.edu.turing.model.enums.UserStatus;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps {@code SELECT id, username, status, version, updated_at} rows; reads by position, so the column order is part
+ * of the contract.
+ */
+@Component
+public class UserDtoRowMapper implements RowMapper<UserDto> {
+
+    public static final String COLUMNS = "id, username, status, version, updated_at";
+
+    @Override
+    public UserDto mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new UserDto(rs.getLong(1), rs.getString(2), UserStatus.fromCode(rs.getShort(3)), rs.getLong(4),
+                rs.getTimestamp(5).toInstant());
+    }
+}
@@ -14,24 +14,26 @@ public class UserMapper {
         return UserDto.builder()
                 .id(entity.getId())
                 .username(entity.getUsername())
-                .password(entity.getPassword())
                 .status(entity.getStatus())
+                .version(entity.getVersion())
+                .updatedAt(entity.getUpdatedAt())
                 .build();
     }
 
     public UserEntity toEntity(UserDto dto) {
         return UserEntity.builder()
-                .id(dto.getId())
-                .username(dto.getUsername())
-                .password(dto.getPassword())
-                .status(dto.getStatus())
+                .id(dto.id())
+                .username(dto.username())
+                .status(dto.status())
+                .version(dto.version())
+                .updatedAt(dto.updatedAt())
                 .build();
     }
 
-    public UserEntity toEntity(CreateUserRequest request) {
+    public UserEntity toEntity(CreateUserRequest request, String passwordHash) {
         return UserEntity.builder()
                 .username(request.getUsername())
-                .password(request.getPassword())
+                .password(passwordHash)
                 .status(UserStatus.ACTIVATE)
                 .build();
     }
@@ -17,7 +17,9 @@ public class UserRowMapper implements RowMapper<UserEntity> {
                 .id(rs.getLong("id"))
                 .username(rs.getString("username"))
                 .password(rs.getString("password"))
-                .status(UserStatus.valueOf(rs.getString("status")))
+                .status(UserStatus.fromCode(rs.getShort("status")))
+                .version(rs.getLong("version"))
+                .updatedAt(rs.getTimestamp("updated_at").toInstant())
                 .build();
     }
 }
@@ -10,4 +10,6 @@ public final class ErrorCode {
     public static final String ALREADY_EXISTS = "already_exists";
     public static final String INVALID_INPUT = "invalid_input";
     public static final String BAD_REQUEST = "bad_request";
+    public static final String PRECONDITION_FAILED = "precondition_failed";
+    public static final String SERVICE_UNAVAILABLE = "service_unavailable";
 }
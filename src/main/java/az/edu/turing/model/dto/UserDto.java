@@ -1,19 +1,14 @@
 package az.edu.turing.model.dto;
 
 import az.edu.turing.model.enums.UserStatus;
-import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
-public class UserDto {
+import java.time.Instant;
 
-    private Long id;
-    private String username;
-    private String password;
-    private UserStatus status;
+/**
+ * Public view of a user. List reads project straight into it from SQL, without going through {@code UserEntity}.
+ * {@code version} and {@code updatedAt} change together on every write and back the ETag and Last-Modified headers.
+ */
+@Builder
+public record UserDto(Long id, String username, UserStatus status, Long version, Instant updatedAt) {
 }
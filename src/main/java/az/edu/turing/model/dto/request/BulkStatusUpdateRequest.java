@@ -0,0 +1,27 @@
+package az.edu.turing.model.dto.request;
+
+import az.edu.turing.model.enums.UserStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Selects users either by {@code ids} or by their {@code currentStatus}; exactly one of the two must be given.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkStatusUpdateRequest {
+
+    @NotNull
+    private UserStatus status;
+
+    private List<@NotNull Long> ids;
+
+    private UserStatus currentStatus;
+}
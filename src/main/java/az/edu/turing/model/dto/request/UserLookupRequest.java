@@ -0,0 +1,25 @@
+package az.edu.turing.model.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Users to resolve by {@code ids}, {@code usernames} or both; together they may name at most
+ * {@code app.users.lookup.max-keys} users.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserLookupRequest {
+
+    private List<@NotNull Long> ids;
+
+    private List<@NotBlank String> usernames;
+}
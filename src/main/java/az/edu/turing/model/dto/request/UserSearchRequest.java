@@ -0,0 +1,29 @@
+package az.edu.turing.model.dto.request;
+
+import az.edu.turing.model.enums.UserStatus;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Query parameters of the user search; every filter is optional and the given ones must all match.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserSearchRequest {
+
+    @Size(min = 1, max = 255)
+    private String usernamePrefix;
+
+    /**
+     * The trigram index only serves substrings of at least three characters.
+     */
+    @Size(min = 3, max = 255)
+    private String usernameContains;
+
+    private UserStatus status;
+}
@@ -0,0 +1,22 @@
+package az.edu.turing.model.dto.request;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class VerifyPasswordRequest {
+
+    @NotBlank
+    @Email
+    private String username;
+
+    @NotBlank
+    private String password;
+}
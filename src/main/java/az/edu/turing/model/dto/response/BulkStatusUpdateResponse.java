@@ -0,0 +1,26 @@
+package az.edu.turing.model.dto.response;
+
+import az.edu.turing.model.enums.UserStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateResponse {
+
+    private UserStatus status;
+
+    /**
+     * Distinct ids in the request, or {@code null} when users were selected by their current status.
+     */
+    private Integer requested;
+
+    /**
+     * Users whose status actually changed; ids that do not exist or already had the status are not counted.
+     */
+    private long updated;
+}
@@ -0,0 +1,26 @@
+package az.edu.turing.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportReport {
+
+    private long processed;
+    private long imported;
+    private long failed;
+
+    /**
+     * Row failures, capped by {@code app.users.import.max-reported-errors}.
+     */
+    @Builder.Default
+    private List<ImportRowError> errors = new ArrayList<>();
+}
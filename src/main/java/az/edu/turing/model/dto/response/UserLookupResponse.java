@@ -0,0 +1,25 @@
+package az.edu.turing.model.dto.response;
+
+import az.edu.turing.model.dto.UserDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserLookupResponse {
+
+    /**
+     * Users found, in request order with ids first; a user named by both id and username appears once.
+     */
+    private List<UserDto> users;
+
+    private List<Long> missingIds;
+
+    private List<String> missingUsernames;
+}
@@ -0,0 +1,31 @@
+package az.edu.turing.model.dto.response;
+
+import az.edu.turing.domain.repository.UserTableVersion;
+import az.edu.turing.model.dto.UserDto;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPageResponse {
+
+    private List<UserDto> users;
+
+    /**
+     * Id to pass as {@code after} to fetch the next page, {@code null} on the last page.
+     */
+    private Long nextCursor;
+
+    /**
+     * Table version read before the page, in the same transaction; backs the list ETag and is not serialized.
+     */
+    @JsonIgnore
+    private UserTableVersion tableVersion;
+}
@@ -0,0 +1,15 @@
+package az.edu.turing.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VerifyPasswordResponse {
+
+    private boolean valid;
+}
@@ -0,0 +1,6 @@
+package az.edu.turing.model.enums;
+
+public enum ImportFormat {
+
+    CSV, NDJSON
+}
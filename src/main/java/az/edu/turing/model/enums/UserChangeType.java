@@ -0,0 +1,25 @@
+package az.edu.turing.model.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Stored as a {@code smallint} in {@code user_outbox}; codes are persisted, so never renumber an existing constant.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum UserChangeType {
+
+    CREATED((short) 1), UPDATED((short) 2), STATUS_CHANGED((short) 3), DELETED((short) 4);
+
+    private final short code;
+
+    public static UserChangeType fromCode(short code) {
+        for (UserChangeType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown user change type code " + code);
+    }
+}
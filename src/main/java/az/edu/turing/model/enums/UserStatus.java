@@ -1,6 +1,25 @@
 package az.edu.turing.model.enums;
 
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Stored as a {@code smallint}; codes are persisted, so never renumber an existing constant.
+ */
+@Getter
+@RequiredArgsConstructor
 public enum UserStatus {
 
-    ACTIVATE, INACTIVATE, DELETED
+    ACTIVATE((short) 1), INACTIVATE((short) 2), DELETED((short) 3);
+
+    private final short code;
+
+    public static UserStatus fromCode(short code) {
+        for (UserStatus status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown user status code " + code);
+    }
 }
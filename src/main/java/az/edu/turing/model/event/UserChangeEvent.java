@@ -0,0 +1,17 @@
+package az.edu.turing.model.event;
+
+import az.edu.turing.model.enums.UserChangeType;
+import az.edu.turing.model.enums.UserStatus;
+import lombok.Builder;
+
+import java.time.Instant;
+
+/**
+ * One committed user mutation. {@code id} increases in commit order for each user, so consumers can drop
+ * redelivered events by remembering the last id they applied per {@code userId}. {@code username} is only set for
+ * {@link UserChangeType#CREATED} and {@link UserChangeType#UPDATED}.
+ */
+@Builder
+public record UserChangeEvent(long id, long userId, UserChangeType type, String username, UserStatus status,
+                              Instant occurredAt) {
+}
@@ -0,0 +1,124 @@
+package az.edu.turing.outbox;
+
+import az.edu.turing.domain.entity.UserEntity;
+import az.edu.turing.model.enums.UserChangeType;
+import az.edu.turing.model.enums.UserStatus;
+import az.edu.turing.model.event.UserChangeEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outbox of the {@code memory} repository. The on-heap store cannot join a database transaction, so storing events
+ * in {@code user_outbox} would let them commit without the change or the change without them; instead they are
+ * handed to the {@link UserChangeSink} once the surrounding transaction commits and dropped when it rolls back.
+ * <p>
+ * One publisher thread numbers and publishes them, so the sink sees ids in increasing order and a sink that blocks
+ * holds up neither the committing threads nor each other's commits.
+ * <p>
+ * Delivery is at most once: events the sink rejects, or that are still pending when shutdown gives up waiting, are
+ * lost.
+ */
+@Log4j2
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "app.users", name = "repository", havingValue = "memory")
+public class AfterCommitUserChangeOutbox implements UserChangeOutbox {
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final UserChangeSink sink;
+    private final ExecutorService publisher = Executors.newSingleThreadExecutor(
+            new CustomizableThreadFactory("user-change-publisher-"));
+    private long sequence;
+
+    public AfterCommitUserChangeOutbox(UserChangeSink sink) {
+        this.sink = sink;
+    }
+
+    @Override
+    public void append(UserChangeType type, long userId, String username, UserStatus status) {
+        publishAfterCommit(List.of(new Change(type, userId, username, status, Instant.now())));
+    }
+
+    @Override
+    public void appendAll(UserChangeType type, List<Long> ids, UserStatus status) {
+        Instant occurredAt = Instant.now();
+        publishAfterCommit(ids.stream()
+                .map(id -> new Change(type, id, null, status, occurredAt))
+                .toList());
+    }
+
+    @Override
+    public void appendCreated(List<UserEntity> users) {
+        Instant occurredAt = Instant.now();
+        publishAfterCommit(users.stream()
+                .map(user -> new Change(UserChangeType.CREATED, user.getId(), user.getUsername(), user.getStatus(),
+                        occurredAt))
+                .toList());
+    }
+
+    private void publishAfterCommit(List<Change> changes) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalTransactionStateException("User changes must be recorded in the transaction making them");
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publisher.execute(() -> publish(changes));
+            }
+        });
+    }
+
+    /**
+     * Publishes what is already queued before the sink closes.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        publisher.shutdown();
+        if (!publisher.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            log.warn("User change publisher did not finish within {}s, dropping pending events",
+                    SHUTDOWN_TIMEOUT_SECONDS);
+            publisher.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs on the publisher thread only, which alone advances {@code sequence}.
+     */
+    private void publish(List<Change> changes) {
+        List<UserChangeEvent> events = changes.stream()
+                .map(change -> UserChangeEvent.builder()
+                        .id(++sequence)
+                        .userId(change.userId())
+                        .type(change.type())
+                        .username(change.username())
+                        .status(change.status())
+                        .occurredAt(change.occurredAt())
+                        .build())
+                .toList();
+        try {
+            sink.publish(events);
+        } catch (RuntimeException e) {
+            log.warn("User change sink rejected {} events, dropping them", events.size(), e);
+        }
+    }
+
+    private record Change(UserChangeType type, long userId, String username, UserStatus status, Instant occurredAt) {
+    }
+}
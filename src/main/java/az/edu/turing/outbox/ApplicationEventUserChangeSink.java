@@ -0,0 +1,28 @@
+package az.edu.turing.outbox;
+
+import az.edu.turing.model.event.UserChangeEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Publishes each event as a Spring application event; {@code @EventListener} methods taking a
+ * {@link UserChangeEvent} run synchronously on the relay thread, and one that throws fails the whole batch.
+ */
+@RequiredArgsConstructor
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "app.users.outbox", name = "sink", havingValue = "listener", matchIfMissing = true)
+public class ApplicationEventUserChangeSink implements UserChangeSink {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void publish(List<UserChangeEvent> events) {
+        events.forEach(eventPublisher::publishEvent);
+    }
+}
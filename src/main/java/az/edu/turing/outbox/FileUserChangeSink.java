@@ -0,0 +1,54 @@
+package az.edu.turing.outbox;
+
+import az.edu.turing.config.properties.OutboxProperties;
+import az.edu.turing.model.event.UserChangeEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends each batch to an NDJSON file and forces it to disk before returning, so consumers can tail the file.
+ * A batch retried after a crash between the write and the outbox commit appears twice.
+ */
+@RequiredArgsConstructor
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "app.users.outbox", name = "sink", havingValue = "file")
+public class FileUserChangeSink implements UserChangeSink {
+
+    private final OutboxProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void publish(List<UserChangeEvent> events) {
+        StringBuilder lines = new StringBuilder();
+        try {
+            for (UserChangeEvent event : events) {
+                lines.append(objectMapper.writeValueAsString(event)).append('\n');
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("User change event is not serializable", e);
+        }
+        try (FileChannel channel = FileChannel.open(properties.getFilePath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
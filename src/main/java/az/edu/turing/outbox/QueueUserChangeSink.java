@@ -0,0 +1,68 @@
+package az.edu.turing.outbox;
+
+import az.edu.turing.config.properties.OutboxProperties;
+import az.edu.turing.model.event.UserChangeEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Local stand-in for a partitioned broker: bounded queues keyed by user id, so one consumer per partition sees
+ * every user's events in order. A full partition fails the batch, which the relay retries later.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "app.users.outbox", name = "sink", havingValue = "queue")
+public class QueueUserChangeSink implements UserChangeSink {
+
+    private final List<BlockingQueue<UserChangeEvent>> partitions;
+    private final Duration offerTimeout;
+
+    public QueueUserChangeSink(OutboxProperties properties) {
+        this.partitions = IntStream.range(0, properties.getQueuePartitions())
+                .<BlockingQueue<UserChangeEvent>>mapToObj(partition ->
+                        new ArrayBlockingQueue<>(properties.getQueueCapacity()))
+                .toList();
+        this.offerTimeout = properties.getQueueOfferTimeout();
+    }
+
+    @Override
+    public void publish(List<UserChangeEvent> events) {
+        for (UserChangeEvent event : events) {
+            try {
+                if (!partition(event.userId()).offer(event, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    throw new IllegalStateException("User change partition is full");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while publishing user changes", e);
+            }
+        }
+    }
+
+    public int partitionCount() {
+        return partitions.size();
+    }
+
+    public int partitionOf(long userId) {
+        return (int) Math.floorMod(userId, (long) partitions.size());
+    }
+
+    /**
+     * @return the next event of the partition, or null when none arrives within {@code timeout}
+     */
+    public UserChangeEvent poll(int partition, Duration timeout) throws InterruptedException {
+        return partitions.get(partition).poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private BlockingQueue<UserChangeEvent> partition(long userId) {
+        return partitions.get(partitionOf(userId));
+    }
+}
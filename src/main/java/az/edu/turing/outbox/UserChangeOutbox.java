@@ -0,0 +1,28 @@
+package az.edu.turing.outbox;
+
+import az.edu.turing.domain.entity.UserEntity;
+import az.edu.turing.model.enums.UserChangeType;
+import az.edu.turing.model.enums.UserStatus;
+
+import java.util.List;
+
+/**
+ * Where writes record their {@link az.edu.turing.model.event.UserChangeEvent}s. Every call must run inside the
+ * transaction that made the change: with a database repository the event is stored in the same transaction
+ * ({@link az.edu.turing.domain.repository.UserOutboxRepository}); the {@code memory} repository has no transaction to
+ * share, so its events go to the sink once the write has returned ({@link AfterCommitUserChangeOutbox}).
+ */
+public interface UserChangeOutbox {
+
+    void append(UserChangeType type, long userId, String username, UserStatus status);
+
+    /**
+     * Appends one event per id.
+     */
+    void appendAll(UserChangeType type, List<Long> ids, UserStatus status);
+
+    /**
+     * Appends one {@link UserChangeType#CREATED} event per user, carrying its username and status.
+     */
+    void appendCreated(List<UserEntity> users);
+}
@@ -0,0 +1,19 @@
+package az.edu.turing.outbox;
+
+import az.edu.turing.model.event.UserChangeEvent;
+
+import java.util.List;
+
+/**
+ * Destination the outbox relay publishes to, selected by {@code app.users.outbox.sink}: {@code listener} (default,
+ * {@link ApplicationEventUserChangeSink}), {@code file} ({@link FileUserChangeSink}) or {@code queue}
+ * ({@link QueueUserChangeSink}).
+ * <p>
+ * Delivery is at least once: a batch is only removed from the outbox after {@link #publish} returns, and one that
+ * throws is published again in full on the next run. Events arrive in id order. The {@code memory} repository has
+ * no outbox table and delivers at most once ({@link AfterCommitUserChangeOutbox}).
+ */
+public interface UserChangeSink {
+
+    void publish(List<UserChangeEvent> events);
+}
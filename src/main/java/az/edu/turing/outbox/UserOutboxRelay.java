@@ -0,0 +1,85 @@
+package az.edu.turing.outbox;
+
+import az.edu.turing.config.ConditionalOnUserDatabase;
+import az.edu.turing.config.properties.OutboxProperties;
+import az.edu.turing.domain.repository.UserOutboxRepository;
+import az.edu.turing.model.event.UserChangeEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Moves committed events from {@code user_outbox} to the {@link UserChangeSink}.
+ * <p>
+ * Each batch is read, published and deleted in one transaction under an advisory lock, so a sink failure or a crash
+ * leaves the batch in place to be published again, and only one instance relays at a time. Events for one user are
+ * appended after the user's row is written, so their ids follow commit order and the sink sees them in that order.
+ */
+@Log4j2
+@Component
+@Profile("!reactive")
+@ConditionalOnUserDatabase
+public class UserOutboxRelay {
+
+    private final UserOutboxRepository outboxRepository;
+    private final UserChangeSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+    private final Counter publishedEvents;
+
+    public UserOutboxRelay(UserOutboxRepository outboxRepository,
+                           UserChangeSink sink,
+                           TransactionTemplate transactionTemplate,
+                           OutboxProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.sink = sink;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.publishedEvents = Counter.builder("users.outbox.published")
+                .description("User change events accepted by the sink")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Relays full batches back to back until the outbox is drained; a failed batch waits for the next run.
+     */
+    @Scheduled(fixedDelayString = "${app.users.outbox.poll-interval:PT1S}")
+    public void drain() {
+        try {
+            int relayed;
+            do {
+                relayed = relayBatch();
+            } while (relayed == properties.getBatchSize());
+        } catch (RuntimeException e) {
+            log.warn("User change relay failed, retrying on the next run", e);
+        }
+    }
+
+    /**
+     * @return number of events published, 0 when the outbox is empty or another instance is relaying
+     */
+    public int relayBatch() {
+        Integer relayed = transactionTemplate.execute(status -> {
+            if (!outboxRepository.tryLockRelay()) {
+                return 0;
+            }
+            List<UserChangeEvent> events = outboxRepository.findBatch(properties.getBatchSize());
+            if (events.isEmpty()) {
+                return 0;
+            }
+            sink.publish(events);
+            outboxRepository.deleteAll(events.stream().map(UserChangeEvent::id).toList());
+            return events.size();
+        });
+        int count = relayed == null ? 0 : relayed;
+        publishedEvents.increment(count);
+        return count;
+    }
+}
@@ -0,0 +1,168 @@
+package az.edu.turing.security;
+
+import az.edu.turing.config.properties.PasswordHashingProperties;
+import az.edu.turing.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs the deliberately expensive KDF on a small dedicated pool with a bounded queue, so a burst of signups or logins
+ * can only use {@code app.security.password.executor.threads} cores and is shed with 503 once the queue is full,
+ * instead of starving the request threads that serve cheap reads.
+ */
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingProperties.Executor properties;
+    private final ExecutorService executor;
+    private final Timer hashTimer;
+    private final Timer verifyTimer;
+    private final String dummyHash;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          PasswordHashingProperties properties,
+                          MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.properties = properties.getExecutor();
+        ThreadPoolExecutor threadPool = new ThreadPoolExecutor(
+                this.properties.getThreads(), this.properties.getThreads(), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.properties.getQueueCapacity()),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, threadPool, "password.hashing");
+        this.hashTimer = Timer.builder("users.password.hash")
+                .description("Time to hash a password, queueing included")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.verifyTimer = Timer.builder("users.password.verify")
+                .description("Time to verify a password, queueing included")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.dummyHash = passwordEncoder.encode("dummy-password-for-unknown-users");
+    }
+
+    public String hash(String rawPassword) {
+        return hashTimer.record(() -> await(submit(() -> passwordEncoder.encode(rawPassword))));
+    }
+
+    /**
+     * Hashes in windows of twice the pool size, so a large import never floods the shared queue.
+     */
+    public List<String> hashAll(List<String> rawPasswords) {
+        int window = properties.getThreads() * 2;
+        List<String> hashes = new ArrayList<>(rawPasswords.size());
+        for (int from = 0; from < rawPasswords.size(); from += window) {
+            List<Future<String>> futures = rawPasswords.subList(from, Math.min(from + window, rawPasswords.size()))
+                    .stream()
+                    .map(rawPassword -> submit(() -> passwordEncoder.encode(rawPassword)))
+                    .toList();
+            futures.forEach(future -> hashes.add(await(future)));
+        }
+        return hashes;
+    }
+
+    public boolean verify(String rawPassword, String encodedPassword) {
+        return verifyTimer.record(() -> await(submit(() -> matches(rawPassword, encodedPassword))));
+    }
+
+    /**
+     * Spends the same KDF work as {@link #verify} so unknown usernames can't be told apart by response time.
+     */
+    public boolean verifyAgainstDummy(String rawPassword) {
+        verify(rawPassword, dummyHash);
+        return false;
+    }
+
+    /**
+     * Non-blocking variant of {@link #hash} for the reactive stack; times out with {@link ServiceUnavailableException}.
+     */
+    public CompletableFuture<String> hashAsync(String rawPassword) {
+        return supplyAsync(hashTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public CompletableFuture<Boolean> verifyAsync(String rawPassword, String encodedPassword) {
+        return supplyAsync(verifyTimer, () -> matches(rawPassword, encodedPassword));
+    }
+
+    public CompletableFuture<Boolean> verifyAgainstDummyAsync(String rawPassword) {
+        return verifyAsync(rawPassword, dummyHash).thenApply(ignored -> false);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private boolean matches(String rawPassword, String encodedPassword) {
+        try {
+            return passwordEncoder.matches(rawPassword, encodedPassword);
+        } catch (IllegalArgumentException e) {
+            // Stored value carries no known {id} prefix; V8 hashed the old plaintext ones, so this is corrupt data.
+            // Spend the same KDF work so the rejection can't be told apart by response time.
+            passwordEncoder.matches(rawPassword, dummyHash);
+            return false;
+        }
+    }
+
+    private <T> CompletableFuture<T> supplyAsync(Timer timer, Supplier<T> task) {
+        Timer.Sample sample = Timer.start();
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException("Too many password operations in progress, try again later");
+        }
+        return future.orTimeout(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+                    if (cause instanceof TimeoutException) {
+                        throw new ServiceUnavailableException("Password operation timed out, try again later");
+                    }
+                    throw new IllegalStateException("Password operation failed", cause);
+                })
+                .whenComplete((result, e) -> sample.stop(timer));
+    }
+
+    private <T> Future<T> submit(Callable<T> task) {
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException("Too many password operations in progress, try again later");
+        }
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ServiceUnavailableException("Password operation timed out, try again later");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Password operation was interrupted");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password operation failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package az.edu.turing.service;
+
+import az.edu.turing.cache.UserCache;
+import az.edu.turing.config.properties.BulkStatusProperties;
+import az.edu.turing.domain.repository.R2dbcUserRepository;
+import az.edu.turing.domain.repository.UserSearchCriteria;
+import az.edu.turing.exception.AlreadyExistsException;
+import az.edu.turing.exception.InvalidInputException;
+import az.edu.turing.exception.NotFoundException;
+import az.edu.turing.logging.LogRedaction;
+import az.edu.turing.mapper.UserMapper;
+import az.edu.turing.model.dto.UserDto;
+import az.edu.turing.model.dto.request.BulkStatusUpdateRequest;
+import az.edu.turing.model.dto.request.CreateUserRequest;
+import az.edu.turing.model.dto.request.UpdateUserRequest;
+import az.edu.turing.model.dto.request.UserSearchRequest;
+import az.edu.turing.model.dto.request.VerifyPasswordRequest;
+import az.edu.turing.model.dto.response.BulkStatusUpdateResponse;
+import az.edu.turing.model.dto.response.UserPageResponse;
+import az.edu.turing.model.dto.response.VerifyPasswordResponse;
+import az.edu.turing.model.enums.UserStatus;
+import az.edu.turing.security.PasswordHasher;
+import com.google.common.collect.Lists;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking mirror of {@link UserService} for the {@code reactive} profile; same rules, errors and messages.
+ * <p>
+ * Writes here record no {@link az.edu.turing.model.event.UserChangeEvent}s: the outbox, its relay and the sinks only
+ * run on the servlet stack, so consumers of user changes need the default edition.
+ */
+@RequiredArgsConstructor
+@Log4j2
+@Service
+@Profile("reactive")
+public class ReactiveUserService {
+
+    private final R2dbcUserRepository userRepository;
+    private final UserMapper mapper;
+    private final UserCache userCache;
+    private final PasswordHasher passwordHasher;
+    private final BulkStatusProperties bulkStatusProperties;
+
+    public Mono<UserPageResponse> findAll(long after, int limit) {
+        return page(userRepository.findPage(after, limit + 1), limit);
+    }
+
+    public Mono<UserPageResponse> search(UserSearchRequest request, long after, int limit) {
+        UserSearchCriteria criteria = new UserSearchCriteria(request.getUsernamePrefix(),
+                request.getUsernameContains(), request.getStatus());
+        return page(userRepository.search(criteria, after, limit + 1), limit);
+    }
+
+    public Flux<UserDto> streamAll() {
+        return userRepository.findAll();
+    }
+
+    public Mono<UserDto> create(CreateUserRequest request) {
+        if (!request.getPassword().equals(request.getConfirmPassword())) {
+            return Mono.error(new InvalidInputException("Passwords do not match"));
+        }
+        return Mono.fromFuture(() -> passwordHasher.hashAsync(request.getPassword()))
+                .flatMap(passwordHash -> userRepository.insertIfAbsent(mapper.toEntity(request, passwordHash)))
+                .map(mapper::toDto)
+                .switchIfEmpty(Mono.error(() -> alreadyExists(request.getUsername())));
+    }
+
+    public Mono<UserDto> findByUsername(String username) {
+        return Mono.justOrEmpty(userCache.findByUsername(username))
+                .switchIfEmpty(userRepository.findByUsername(username)
+                        .map(mapper::toDto)
+                        .doOnNext(userCache::put))
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("There is not user with username " + username)));
+    }
+
+    public Mono<VerifyPasswordResponse> verifyPassword(VerifyPasswordRequest request) {
+        return userRepository.findByUsername(request.getUsername())
+                .filter(userEntity -> userEntity.getStatus() != UserStatus.DELETED)
+                .flatMap(userEntity -> Mono.fromFuture(
+                        () -> passwordHasher.verifyAsync(request.getPassword(), userEntity.getPassword())))
+                .switchIfEmpty(Mono.fromFuture(() -> passwordHasher.verifyAgainstDummyAsync(request.getPassword())))
+                .map(valid -> VerifyPasswordResponse.builder()
+                        .valid(valid)
+                        .build());
+    }
+
+    public Mono<UserDto> update(long id, UpdateUserRequest request) {
+        return Mono.fromFuture(() -> passwordHasher.hashAsync(request.getPassword()))
+                .flatMap(passwordHash -> userRepository.update(id, request.getUsername(), passwordHash))
+                .onErrorMap(DuplicateKeyException.class, e -> alreadyExists(request.getUsername()))
+                .switchIfEmpty(Mono.error(() -> notFound(id)))
+                .doOnNext(userEntity -> log.info("User updated: id={}, username={}, status={}", userEntity.getId(),
+                        LogRedaction.username(userEntity.getUsername()), userEntity.getStatus()))
+                .map(mapper::toDto)
+                .doOnNext(userCache::put);
+    }
+
+    public Mono<UserDto> updateStatus(long id, UserStatus status) {
+        return userRepository.updateStatus(id, status)
+                .switchIfEmpty(Mono.error(() -> notFound(id)))
+                .doOnNext(userEntity -> log.info("User status updated: id={}, username={}, status={}", userEntity.getId(),
+                        LogRedaction.username(userEntity.getUsername()), status))
+                .map(mapper::toDto)
+                .doOnNext(userCache::put);
+    }
+
+    public Mono<BulkStatusUpdateResponse> updateStatuses(BulkStatusUpdateRequest request) {
+        UserStatus status = request.getStatus();
+        if ((request.getIds() == null) == (request.getCurrentStatus() == null)) {
+            return Mono.error(new InvalidInputException("Exactly one of ids or currentStatus must be given"));
+        }
+        Mono<Long> updated;
+        Integer requested = null;
+        if (request.getIds() != null) {
+            List<Long> ids = request.getIds().stream().distinct().toList();
+            if (ids.size() > bulkStatusProperties.getMaxIds()) {
+                return Mono.error(new InvalidInputException(
+                        "At most " + bulkStatusProperties.getMaxIds() + " ids can be updated at once"));
+            }
+            requested = ids.size();
+            updated = Flux.fromIterable(Lists.partition(ids, bulkStatusProperties.getChunkSize()))
+                    .concatMap(chunk -> userRepository.updateStatusByIds(chunk, status))
+                    .doOnNext(userCache::put)
+                    .count();
+        } else {
+            if (request.getCurrentStatus() == status) {
+                return Mono.error(new InvalidInputException("currentStatus must differ from status"));
+            }
+            Mono<Long> nextChunk = Mono.defer(() -> userRepository.updateStatusByStatus(
+                            request.getCurrentStatus(), status, bulkStatusProperties.getChunkSize())
+                    .doOnNext(userCache::put)
+                    .count());
+            updated = nextChunk.expand(changed -> changed > 0 ? nextChunk : Mono.empty())
+                    .reduce(0L, Long::sum);
+        }
+        Integer requestedIds = requested;
+        return updated.map(count -> BulkStatusUpdateResponse.builder()
+                .status(status)
+                .requested(requestedIds)
+                .updated(count)
+                .build());
+    }
+
+    public Mono<Void> deleteById(long id) {
+        return userRepository.deleteById(id)
+                .switchIfEmpty(Mono.error(() -> notFound(id)))
+                .map(mapper::toDto)
+                .doOnNext(userCache::put)
+                .then();
+    }
+
+    private Mono<UserPageResponse> page(Flux<UserDto> users, int limit) {
+        return users.collectList()
+                .map(page -> {
+                    if (page.size() <= limit) {
+                        return UserPageResponse.builder()
+                                .users(page)
+                                .build();
+                    }
+                    return UserPageResponse.builder()
+                            .users(page.subList(0, limit))
+                            .nextCursor(page.get(limit - 1).id())
+                            .build();
+                });
+    }
+
+    private NotFoundException notFound(long id) {
+        return new NotFoundException("There is not user with id " + id);
+    }
+
+    private AlreadyExistsException alreadyExists(String username) {
+        return new AlreadyExistsException("user already exists with this username " + username);
+    }
+}
@@ -0,0 +1,173 @@
+package az.edu.turing.service;
+
+import az.edu.turing.config.properties.UserLookupProperties;
+import az.edu.turing.exception.ServiceUnavailableException;
+import az.edu.turing.model.dto.UserDto;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Merges lookups from concurrent callers into one {@code = ANY(?)} query per key type. The first key of a batch opens
+ * a window of {@code app.users.lookup.batch.window}; keys asked for until it closes, or until the batch holds
+ * {@code max-size} keys, are read together and every caller gets its share of the result. Queries run on virtual
+ * threads, so a slow batch never holds up the timer that closes the next one. The callers' transactions do not reach
+ * those threads, so every query opens its own read-only transaction, which
+ * {@link az.edu.turing.domain.datasource.ReplicaRoutingDataSource} sends to a replica.
+ * <p>
+ * Callers only join a batch whose query has not started, so a lookup never receives a row read before it was asked.
+ */
+public abstract class UserBatchLoader<K> {
+
+    private final UserLookupProperties.Batch properties;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService queryExecutor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final DistributionSummary batchSizes;
+    private final Object lock = new Object();
+    private Map<K, CompletableFuture<Optional<UserDto>>> openBatch;
+
+    protected UserBatchLoader(String key,
+                              UserLookupProperties properties,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry) {
+        this.properties = properties.getBatch();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                new CustomizableThreadFactory("user-lookup-batch-" + key + "-"));
+        this.queryExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.batchSizes = DistributionSummary.builder("users.lookup.batch.size")
+                .description("Keys read by one batched lookup query")
+                .tag("key", key)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return the user with this key, or empty when there is none
+     * @throws ServiceUnavailableException when the batch does not finish within the configured timeout
+     */
+    public Optional<UserDto> load(K key) {
+        return Optional.ofNullable(loadAll(List.of(key)).get(key));
+    }
+
+    /**
+     * @return the users found among {@code keys}, keyed by the requested key; unknown keys are left out
+     * @throws ServiceUnavailableException when the batch does not finish within the configured timeout
+     */
+    public Map<K, UserDto> loadAll(List<K> keys) {
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+        if (!properties.isEnabled()) {
+            return byKey(read(keys));
+        }
+        Map<K, CompletableFuture<Optional<UserDto>>> lookups = enqueue(keys);
+        await(CompletableFuture.allOf(lookups.values().toArray(CompletableFuture[]::new)));
+        Map<K, UserDto> users = new HashMap<>();
+        lookups.forEach((key, lookup) -> lookup.join().ifPresent(user -> users.put(key, user)));
+        return users;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+        queryExecutor.shutdown();
+    }
+
+    /**
+     * Reads the users carrying any of {@code keys} in one query, in no particular order.
+     */
+    protected abstract List<UserDto> query(List<K> keys);
+
+    protected abstract K keyOf(UserDto user);
+
+    private Map<K, CompletableFuture<Optional<UserDto>>> enqueue(List<K> keys) {
+        Map<K, CompletableFuture<Optional<UserDto>>> lookups = new LinkedHashMap<>();
+        List<Map<K, CompletableFuture<Optional<UserDto>>>> fullBatches = new ArrayList<>();
+        synchronized (lock) {
+            for (K key : keys) {
+                if (openBatch == null) {
+                    Map<K, CompletableFuture<Optional<UserDto>>> batch = new HashMap<>();
+                    openBatch = batch;
+                    scheduler.schedule(() -> close(batch), properties.getWindow().toNanos(), TimeUnit.NANOSECONDS);
+                }
+                lookups.put(key, openBatch.computeIfAbsent(key, k -> new CompletableFuture<>()));
+                if (openBatch.size() >= properties.getMaxSize()) {
+                    fullBatches.add(openBatch);
+                    openBatch = null;
+                }
+            }
+        }
+        fullBatches.forEach(this::dispatch);
+        return lookups;
+    }
+
+    /**
+     * Runs when the window of {@code batch} ends; a batch already sent because it filled up is left alone.
+     */
+    private void close(Map<K, CompletableFuture<Optional<UserDto>>> batch) {
+        synchronized (lock) {
+            if (openBatch != batch) {
+                return;
+            }
+            openBatch = null;
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Map<K, CompletableFuture<Optional<UserDto>>> batch) {
+        queryExecutor.execute(() -> {
+            try {
+                batchSizes.record(batch.size());
+                Map<K, UserDto> users = byKey(read(List.copyOf(batch.keySet())));
+                batch.forEach((key, lookup) -> lookup.complete(Optional.ofNullable(users.get(key))));
+            } catch (RuntimeException | Error e) {
+                batch.values().forEach(lookup -> lookup.completeExceptionally(e));
+            }
+        });
+    }
+
+    private List<UserDto> read(List<K> keys) {
+        return readOnlyTransaction.execute(status -> query(keys));
+    }
+
+    private void await(CompletableFuture<Void> lookups) {
+        try {
+            lookups.get(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceUnavailableException("User lookup timed out, try again later");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("User lookup was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("User lookup failed", e.getCause());
+        }
+    }
+
+    private Map<K, UserDto> byKey(List<UserDto> users) {
+        Map<K, UserDto> usersByKey = new HashMap<>();
+        users.forEach(user -> usersByKey.put(keyOf(user), user));
+        return usersByKey;
+    }
+}
@@ -0,0 +1,39 @@
+package az.edu.turing.service;
+
+import az.edu.turing.config.properties.UserLookupProperties;
+import az.edu.turing.domain.repository.UserRepository;
+import az.edu.turing.model.dto.UserDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+/**
+ * Batches id lookups into {@code id = ANY(?)} queries.
+ */
+@Component
+@Profile("!reactive")
+public class UserIdBatchLoader extends UserBatchLoader<Long> {
+
+    private final UserRepository userRepository;
+
+    public UserIdBatchLoader(UserRepository userRepository,
+                             UserLookupProperties properties,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        super("id", properties, transactionManager, meterRegistry);
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    protected List<UserDto> query(List<Long> ids) {
+        return userRepository.findAllByIds(ids);
+    }
+
+    @Override
+    protected Long keyOf(UserDto user) {
+        return user.id();
+    }
+}
@@ -0,0 +1,192 @@
+package az.edu.turing.service;
+
+import az.edu.turing.cache.UserLookupCoalescer;
+import az.edu.turing.cache.UsernameBloomFilter;
+import az.edu.turing.config.properties.UserImportProperties;
+import az.edu.turing.domain.entity.UserEntity;
+import az.edu.turing.domain.repository.UserRepository;
+import az.edu.turing.exception.InvalidInputException;
+import az.edu.turing.mapper.UserMapper;
+import az.edu.turing.model.dto.request.CreateUserRequest;
+import az.edu.turing.model.dto.response.ImportRowError;
+import az.edu.turing.model.dto.response.UserImportReport;
+import az.edu.turing.model.enums.ImportFormat;
+import az.edu.turing.outbox.UserChangeOutbox;
+import az.edu.turing.security.PasswordHasher;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Streams a CSV or NDJSON body line by line and inserts valid rows in batches, so only one batch is ever in memory.
+ * Each batch commits together with a {@link az.edu.turing.model.enums.UserChangeType#CREATED} event per inserted user.
+ */
+@RequiredArgsConstructor
+@Log4j2
+@Service
+@Timed("users.service")
+@Profile("!reactive")
+public class UserImportService {
+
+    private final UserRepository userRepository;
+    private final UserChangeOutbox changeOutbox;
+    private final UsernameBloomFilter usernameFilter;
+    private final UserLookupCoalescer lookupCoalescer;
+    private final PasswordHasher passwordHasher;
+    private final UserMapper mapper;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final UserImportProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final CsvMapper csvMapper = new CsvMapper();
+
+    public UserImportReport importUsers(InputStream body, ImportFormat format) throws IOException {
+        UserImportReport report = new UserImportReport();
+        Map<String, ImportRow> batch = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            ObjectReader rowReader = objectMapper.readerFor(CreateUserRequest.class);
+            if (format == ImportFormat.CSV) {
+                lineNumber++;
+                rowReader = csvRowReader(reader.readLine());
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                report.setProcessed(report.getProcessed() + 1);
+                readRow(rowReader, line, lineNumber, batch, report);
+                if (batch.size() >= properties.getBatchSize()) {
+                    flush(batch, report);
+                }
+            }
+        }
+        flush(batch, report);
+        log.info("User import finished: processed={}, imported={}, failed={}",
+                report.getProcessed(), report.getImported(), report.getFailed());
+        return report;
+    }
+
+    private ObjectReader csvRowReader(String header) {
+        if (header == null || header.isBlank()) {
+            throw new InvalidInputException("CSV body must start with a header row");
+        }
+        CsvSchema.Builder schema = CsvSchema.builder();
+        Arrays.stream(header.split(","))
+                .map(String::trim)
+                .forEach(column -> schema.addColumn(column, CsvSchema.ColumnType.STRING));
+        return csvMapper.readerFor(CreateUserRequest.class).with(schema.build());
+    }
+
+    private void readRow(ObjectReader rowReader, String line, long lineNumber,
+                         Map<String, ImportRow> batch, UserImportReport report) {
+        CreateUserRequest request;
+        try {
+            request = rowReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            reject(report, lineNumber, null, "Malformed row: " + e.getOriginalMessage());
+            return;
+        }
+        if (request == null) {
+            reject(report, lineNumber, null, "Malformed row: expected an object");
+            return;
+        }
+        String error = validate(request);
+        if (error != null) {
+            reject(report, lineNumber, request.getUsername(), error);
+        } else if (batch.containsKey(request.getUsername())) {
+            reject(report, lineNumber, request.getUsername(), alreadyExists(request.getUsername()));
+        } else {
+            batch.put(request.getUsername(), new ImportRow(lineNumber, request));
+        }
+    }
+
+    private String validate(CreateUserRequest request) {
+        Set<ConstraintViolation<CreateUserRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        if (!request.getPassword().equals(request.getConfirmPassword())) {
+            return "Passwords do not match";
+        }
+        return null;
+    }
+
+    private void flush(Map<String, ImportRow> batch, UserImportReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<ImportRow> rows = List.copyOf(batch.values());
+        List<String> passwordHashes = passwordHasher.hashAll(rows.stream()
+                .map(row -> row.request().getPassword())
+                .toList());
+        List<UserEntity> userEntities = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            userEntities.add(mapper.toEntity(rows.get(i).request(), passwordHashes.get(i)));
+        }
+        Map<String, UserEntity> inserted = transactionTemplate.execute(status -> {
+            List<UserEntity> stored = userRepository.insertAllIfAbsent(userEntities);
+            changeOutbox.appendCreated(stored);
+            lookupCoalescer.invalidateAll();
+            return stored.stream().collect(Collectors.toMap(UserEntity::getUsername, Function.identity()));
+        });
+        for (ImportRow row : batch.values()) {
+            String username = row.request().getUsername();
+            if (inserted.containsKey(username)) {
+                usernameFilter.add(username);
+                report.setImported(report.getImported() + 1);
+            } else {
+                reject(report, row.lineNumber(), username, alreadyExists(username));
+            }
+        }
+        batch.clear();
+    }
+
+    private void reject(UserImportReport report, long lineNumber, String username, String errorMessage) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < properties.getMaxReportedErrors()) {
+            report.getErrors().add(ImportRowError.builder()
+                    .line(lineNumber)
+                    .username(username)
+                    .errorMessage(errorMessage)
+                    .build());
+        }
+    }
+
+    private String alreadyExists(String username) {
+        return "user already exists with this username " + username;
+    }
+
+    private record ImportRow(long lineNumber, CreateUserRequest request) {
+    }
+}
@@ -1,95 +1,364 @@
 package az.edu.turing.service;
 
+import az.edu.turing.cache.UserCache;
+import az.edu.turing.cache.UserLookupCoalescer;
+import az.edu.turing.cache.UsernameBloomFilter;
+import az.edu.turing.config.properties.BulkStatusProperties;
+import az.edu.turing.config.properties.UserLookupProperties;
 import az.edu.turing.domain.entity.UserEntity;
-import az.edu.turing.domain.repository.PostgresUserRepository;
+import az.edu.turing.domain.repository.UserRepository;
+import az.edu.turing.domain.repository.UserSearchCriteria;
+import az.edu.turing.domain.repository.UserStatusUpdate;
+import az.edu.turing.domain.repository.UserTableVersion;
 import az.edu.turing.exception.AlreadyExistsException;
 import az.edu.turing.exception.InvalidInputException;
 import az.edu.turing.exception.NotFoundException;
+import az.edu.turing.exception.PreconditionFailedException;
+import az.edu.turing.logging.LogRedaction;
 import az.edu.turing.mapper.UserMapper;
 import az.edu.turing.model.dto.UserDto;
+import az.edu.turing.model.dto.request.BulkStatusUpdateRequest;
 import az.edu.turing.model.dto.request.CreateUserRequest;
 import az.edu.turing.model.dto.request.UpdateUserRequest;
+import az.edu.turing.model.dto.request.UserLookupRequest;
+import az.edu.turing.model.dto.request.UserSearchRequest;
+import az.edu.turing.model.dto.request.VerifyPasswordRequest;
+import az.edu.turing.model.dto.response.BulkStatusUpdateResponse;
+import az.edu.turing.model.dto.response.UserLookupResponse;
+import az.edu.turing.model.dto.response.UserPageResponse;
+import az.edu.turing.model.dto.response.VerifyPasswordResponse;
+import az.edu.turing.model.enums.UserChangeType;
 import az.edu.turing.model.enums.UserStatus;
+import az.edu.turing.outbox.UserChangeOutbox;
+import az.edu.turing.security.PasswordHasher;
+import com.google.common.collect.Lists;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 @RequiredArgsConstructor
 @Log4j2
 @Service
+@Timed("users.service")
+@Profile("!reactive")
 public class UserService {
 
-    private final PostgresUserRepository userRepository;
+    private final UserRepository userRepository;
+    private final UserChangeOutbox changeOutbox;
+    private final UserCache userCache;
+    private final UsernameBloomFilter usernameFilter;
+    private final UserLookupCoalescer lookupCoalescer;
+    private final PasswordHasher passwordHasher;
+    private final BulkStatusProperties bulkStatusProperties;
+    private final UserLookupProperties lookupProperties;
+    private final UserIdBatchLoader idBatchLoader;
+    private final UsernameBatchLoader usernameBatchLoader;
     private final UserMapper mapper;
     private final UserMapper userMapper;
+    private final TransactionTemplate transactionTemplate;
 
-    public Set<UserDto> findAll() {
-        return userRepository.findAll()
-                .stream()
-                .map(mapper::toDto)
-                .collect(Collectors.toSet());
+    @Transactional(readOnly = true)
+    public UserPageResponse findAll(long after, int limit) {
+        UserTableVersion tableVersion = userRepository.tableVersion();
+        return page(userRepository.findPage(after, limit + 1), limit, tableVersion);
     }
 
+    @Transactional(readOnly = true)
+    public UserPageResponse search(UserSearchRequest request, long after, int limit) {
+        UserSearchCriteria criteria = new UserSearchCriteria(request.getUsernamePrefix(),
+                request.getUsernameContains(), request.getStatus());
+        UserTableVersion tableVersion = userRepository.tableVersion();
+        return page(userRepository.search(criteria, after, limit + 1), limit, tableVersion);
+    }
+
+    /**
+     * Lets a list request be answered with 304 before any user is read. Not read-only, so it is answered by the
+     * primary: a lagging replica could still report the version a client already holds after the users changed.
+     */
+    @Transactional
+    public UserTableVersion tableVersion() {
+        return userRepository.tableVersion();
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<UserDto> consumer) {
+        userRepository.forEach(consumer);
+    }
+
+    /**
+     * Writes a {@link UserChangeType#CREATED} event to the outbox in the same transaction as the user; every other
+     * write does the same for its change. The password is hashed before the transaction opens, so no pooled
+     * connection is held while it runs.
+     */
     public UserDto create(CreateUserRequest request) {
         if (!request.getPassword().equals(request.getConfirmPassword())) {
             throw new InvalidInputException("Passwords do not match");
         }
-        existsByUserName(request.getUsername());
-        UserEntity userEntity = mapper.toEntity(request);
-        UserEntity savedUserEntity = userRepository.save(userEntity);
+        UserEntity userEntity = mapper.toEntity(request, passwordHasher.hash(request.getPassword()));
+        UserEntity savedUserEntity = transactionTemplate.execute(status -> {
+            UserEntity inserted = userRepository.insertIfAbsent(userEntity)
+                    .orElseThrow(() -> alreadyExists(request.getUsername()));
+            changeOutbox.append(UserChangeType.CREATED, inserted.getId(), inserted.getUsername(),
+                    inserted.getStatus());
+            return inserted;
+        });
+        usernameFilter.add(savedUserEntity.getUsername());
+        lookupCoalescer.invalidateAll();
         return mapper.toDto(savedUserEntity);
     }
 
-
+    /**
+     * A cache miss joins a lookup of the same username already in flight, and otherwise goes through
+     * {@link UsernameBatchLoader}, so it shares its query with other usernames asked for at the same time.
+     */
     public UserDto findByUsername(String username) {
-        return userRepository.findByUsername(username)
-                .map(mapper::toDto)
-                .orElseThrow(() -> new NotFoundException("There is not user with username " + username));
-    }
-
-    public UserDto update(long id, UpdateUserRequest request) {
-        UserEntity userEntity = userRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("There is not user with id " + id));
-        existsByUserName(request.getUsername());
-        userEntity.setUsername(request.getUsername());
-        userEntity.setPassword(request.getPassword());
-        UserEntity savedUserEntity = userRepository.save(userEntity);
-        log.info("User updated: {}", savedUserEntity);
-        return mapper.toDto(savedUserEntity);
+        return userCache.findByUsername(username)
+                .orElseGet(() -> {
+                    if (usernameFilter.isDefinitelyAbsent(username)) {
+                        throw notFound(username);
+                    }
+                    UserDto user = lookupCoalescer.findUserByUsername(username, usernameBatchLoader::load)
+                            .orElseThrow(() -> notFound(username));
+                    userCache.put(user);
+                    return user;
+                });
+    }
+
+    /**
+     * Resolves many users at once: cached users are served from the cache, and the remaining ids and usernames go
+     * through {@link UserIdBatchLoader} and {@link UsernameBatchLoader}, so concurrent lookups share their queries.
+     */
+    public UserLookupResponse lookup(UserLookupRequest request) {
+        List<Long> ids = request.getIds() == null ? List.of() : request.getIds().stream().distinct().toList();
+        List<String> usernames = request.getUsernames() == null
+                ? List.of()
+                : request.getUsernames().stream().distinct().toList();
+        if (ids.isEmpty() && usernames.isEmpty()) {
+            throw new InvalidInputException("At least one id or username must be given");
+        }
+        if (ids.size() + usernames.size() > lookupProperties.getMaxKeys()) {
+            throw new InvalidInputException(
+                    "At most " + lookupProperties.getMaxKeys() + " ids and usernames can be looked up at once");
+        }
+
+        Map<Long, UserDto> usersById = new HashMap<>();
+        List<Long> uncachedIds = new ArrayList<>();
+        ids.forEach(id -> userCache.findById(id)
+                .ifPresentOrElse(user -> usersById.put(id, user), () -> uncachedIds.add(id)));
+        idBatchLoader.loadAll(uncachedIds).values().forEach(user -> usersById.put(user.id(), cached(user)));
+
+        Map<String, UserDto> usersByUsername = new HashMap<>();
+        List<String> uncachedUsernames = new ArrayList<>();
+        usernames.forEach(username -> userCache.findByUsername(username).ifPresentOrElse(
+                user -> usersByUsername.put(username, user),
+                () -> {
+                    if (!usernameFilter.isDefinitelyAbsent(username)) {
+                        uncachedUsernames.add(username);
+                    }
+                }));
+        usernameBatchLoader.loadAll(uncachedUsernames).values()
+                .forEach(user -> usersByUsername.put(user.username(), cached(user)));
+
+        Map<Long, UserDto> users = new LinkedHashMap<>();
+        List<Long> missingIds = new ArrayList<>();
+        List<String> missingUsernames = new ArrayList<>();
+        for (long id : ids) {
+            UserDto user = usersById.get(id);
+            if (user == null) {
+                missingIds.add(id);
+            } else {
+                users.putIfAbsent(id, user);
+            }
+        }
+        for (String username : usernames) {
+            UserDto user = usersByUsername.get(username);
+            if (user == null) {
+                missingUsernames.add(username);
+            } else {
+                users.putIfAbsent(user.id(), user);
+            }
+        }
+        return UserLookupResponse.builder()
+                .users(List.copyOf(users.values()))
+                .missingIds(missingIds)
+                .missingUsernames(missingUsernames)
+                .build();
     }
 
-    public UserDto updateStatus(long id, UserStatus status) {
-        return userRepository.findById(id)
-                .map(userEntity -> {
-                    userEntity.setStatus(status);
-                    UserEntity updatedUserEntity = userRepository.save(userEntity);
-                    log.info("User status updated to: {} for user: {}", status, updatedUserEntity);
-                    return userMapper.toDto(updatedUserEntity);
-                })
-                .orElseThrow(() -> new NotFoundException("There is not user with id " + id));
+    public VerifyPasswordResponse verifyPassword(VerifyPasswordRequest request) {
+        boolean valid = lookupCoalescer.findByUsername(request.getUsername(), userRepository::findByUsername)
+                .filter(userEntity -> userEntity.getStatus() != UserStatus.DELETED)
+                .map(userEntity -> passwordHasher.verify(request.getPassword(), userEntity.getPassword()))
+                .orElseGet(() -> passwordHasher.verifyAgainstDummy(request.getPassword()));
+        return VerifyPasswordResponse.builder()
+                .valid(valid)
+                .build();
     }
 
-    public void deleteById(long id) {
-        existsById(id);
-        userRepository.findById(id)
-                .ifPresent(userEntity -> {
-                    userEntity.setStatus(UserStatus.DELETED);
-                    userRepository.save(userEntity);
-                });
+    /**
+     * @param expectedVersion version from the client's {@code If-Match}, or null to update unconditionally
+     */
+    public UserDto update(long id, UpdateUserRequest request, Long expectedVersion) {
+        String passwordHash = passwordHasher.hash(request.getPassword());
+        UserEntity savedUserEntity;
+        try {
+            savedUserEntity = transactionTemplate.execute(status -> {
+                UserEntity updated = userRepository.update(id, request.getUsername(), passwordHash, expectedVersion)
+                        .orElseThrow(() -> notFound(id));
+                changeOutbox.append(UserChangeType.UPDATED, id, updated.getUsername(), updated.getStatus());
+                return updated;
+            });
+        } catch (DuplicateKeyException e) {
+            throw alreadyExists(request.getUsername());
+        } catch (OptimisticLockingFailureException e) {
+            throw preconditionFailed(id, expectedVersion);
+        }
+        usernameFilter.add(savedUserEntity.getUsername());
+        lookupCoalescer.invalidateAll();
+        log.info("User updated: id={}, username={}, status={}", savedUserEntity.getId(),
+                LogRedaction.username(savedUserEntity.getUsername()), savedUserEntity.getStatus());
+        return cached(mapper.toDto(savedUserEntity));
     }
 
-    private void existsById(long id) {
-        if (!userRepository.existsById(id)) {
-            throw new NotFoundException("There is not user with id " + id);
+    /**
+     * Writes a {@link UserChangeType#STATUS_CHANGED} event only when the user did not already have {@code status}.
+     *
+     * @param expectedVersion version from the client's {@code If-Match}, or null to update unconditionally
+     */
+    @Transactional
+    public UserDto updateStatus(long id, UserStatus status, Long expectedVersion) {
+        UserStatusUpdate statusUpdate;
+        try {
+            statusUpdate = userRepository.updateStatus(id, status, expectedVersion)
+                    .orElseThrow(() -> notFound(id));
+        } catch (OptimisticLockingFailureException e) {
+            throw preconditionFailed(id, expectedVersion);
+        }
+        if (statusUpdate.changed()) {
+            changeOutbox.append(UserChangeType.STATUS_CHANGED, id, null, status);
         }
+        UserEntity updatedUserEntity = statusUpdate.user();
+        lookupCoalescer.invalidateAll();
+        log.info("User status updated: id={}, username={}, status={}", updatedUserEntity.getId(),
+                LogRedaction.username(updatedUserEntity.getUsername()), status);
+        return cached(userMapper.toDto(updatedUserEntity));
     }
 
-    private void existsByUserName(String username) {
-        if (userRepository.existsByUsername(username)) {
-            throw new AlreadyExistsException("user already exists with this username " + username);
+    /**
+     * Applies one status to many users in chunked set-based UPDATEs, caching each changed user as its chunk commits.
+     * Each chunk writes its outbox events in its own transaction.
+     */
+    public BulkStatusUpdateResponse updateStatuses(BulkStatusUpdateRequest request) {
+        UserStatus status = request.getStatus();
+        if ((request.getIds() == null) == (request.getCurrentStatus() == null)) {
+            throw new InvalidInputException("Exactly one of ids or currentStatus must be given");
         }
+        long updated = 0;
+        Integer requested = null;
+        if (request.getIds() != null) {
+            List<Long> ids = request.getIds().stream().distinct().toList();
+            if (ids.size() > bulkStatusProperties.getMaxIds()) {
+                throw new InvalidInputException(
+                        "At most " + bulkStatusProperties.getMaxIds() + " ids can be updated at once");
+            }
+            requested = ids.size();
+            for (List<Long> chunk : Lists.partition(ids, bulkStatusProperties.getChunkSize())) {
+                updated += cachedAll(transactionTemplate.execute(transaction ->
+                        recorded(userRepository.updateStatusByIds(chunk, status), status)));
+            }
+        } else {
+            if (request.getCurrentStatus() == status) {
+                throw new InvalidInputException("currentStatus must differ from status");
+            }
+            long changed;
+            do {
+                changed = cachedAll(transactionTemplate.execute(transaction ->
+                        recorded(userRepository.updateStatusByStatus(request.getCurrentStatus(), status,
+                                bulkStatusProperties.getChunkSize()), status)));
+                updated += changed;
+            } while (changed > 0);
+        }
+        log.info("Bulk status update: status={}, currentStatus={}, requested={}, updated={}",
+                status, request.getCurrentStatus(), requested, updated);
+        return BulkStatusUpdateResponse.builder()
+                .status(status)
+                .requested(requested)
+                .updated(updated)
+                .build();
+    }
+
+    /**
+     * Caches the deleted row rather than evicting the user, so a reader that loaded the user before the delete cannot
+     * put the older version back.
+     */
+    @Transactional
+    public void deleteById(long id) {
+        UserEntity deletedUserEntity = userRepository.deleteById(id)
+                .orElseThrow(() -> notFound(id));
+        changeOutbox.append(UserChangeType.DELETED, id, null, UserStatus.DELETED);
+        cached(mapper.toDto(deletedUserEntity));
+        lookupCoalescer.invalidateAll();
+    }
+
+    private List<UserDto> recorded(List<UserDto> users, UserStatus status) {
+        changeOutbox.appendAll(UserChangeType.STATUS_CHANGED, users.stream().map(UserDto::id).toList(), status);
+        return users;
+    }
+
+    private int cachedAll(List<UserDto> users) {
+        users.forEach(userCache::put);
+        lookupCoalescer.invalidateAll();
+        return users.size();
+    }
+
+    /**
+     * @param users up to {@code limit + 1} users; the extra one only signals that another page exists
+     */
+    private UserPageResponse page(List<UserDto> users, int limit, UserTableVersion tableVersion) {
+        if (users.size() <= limit) {
+            return UserPageResponse.builder()
+                    .users(users)
+                    .tableVersion(tableVersion)
+                    .build();
+        }
+        return UserPageResponse.builder()
+                .users(users.subList(0, limit))
+                .nextCursor(users.get(limit - 1).id())
+                .tableVersion(tableVersion)
+                .build();
+    }
+
+    private UserDto cached(UserDto user) {
+        userCache.put(user);
+        return user;
+    }
+
+    private NotFoundException notFound(long id) {
+        return new NotFoundException("There is not user with id " + id);
+    }
+
+    private NotFoundException notFound(String username) {
+        return new NotFoundException("There is not user with username " + username);
+    }
+
+    private PreconditionFailedException preconditionFailed(long id, Long expectedVersion) {
+        return new PreconditionFailedException("User " + id + " is no longer at version " + expectedVersion);
+    }
+
+    private AlreadyExistsException alreadyExists(String username) {
+        return new AlreadyExistsException("user already exists with this username " + username);
     }
 }
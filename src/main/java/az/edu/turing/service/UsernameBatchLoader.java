@@ -0,0 +1,40 @@
+package az.edu.turing.service;
+
+import az.edu.turing.config.properties.UserLookupProperties;
+import az.edu.turing.domain.repository.UserRepository;
+import az.edu.turing.model.dto.UserDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+/**
+ * Batches username lookups into {@code username = ANY(?)} queries; single {@code GET /{username}} requests that miss
+ * the cache go through it as well as batch lookups.
+ */
+@Component
+@Profile("!reactive")
+public class UsernameBatchLoader extends UserBatchLoader<String> {
+
+    private final UserRepository userRepository;
+
+    public UsernameBatchLoader(UserRepository userRepository,
+                               UserLookupProperties properties,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry) {
+        super("username", properties, transactionManager, meterRegistry);
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    protected List<UserDto> query(List<String> usernames) {
+        return userRepository.findAllByUsernames(usernames);
+    }
+
+    @Override
+    protected String keyOf(UserDto user) {
+        return user.username();
+    }
+}
@@ -0,0 +1,8 @@
+-- Matches the table Hibernate used to generate, so databases created with ddl-auto baseline cleanly.
+CREATE TABLE IF NOT EXISTS user_table
+(
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    status   VARCHAR(255) NOT NULL
+);
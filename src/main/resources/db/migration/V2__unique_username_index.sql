@@ -0,0 +1,19 @@
+-- ddl-auto may have added a unique constraint with a generated name; replace it with one predictably named index
+-- that the startup index check can look for.
+DO
+$$
+    DECLARE
+        constraint_name TEXT;
+    BEGIN
+        FOR constraint_name IN
+            SELECT conname
+            FROM pg_constraint
+            WHERE conrelid = 'user_table'::regclass
+              AND contype = 'u'
+            LOOP
+                EXECUTE format('ALTER TABLE user_table DROP CONSTRAINT %I', constraint_name);
+            END LOOP;
+    END
+$$;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_user_table_username ON user_table (username);
@@ -0,0 +1,12 @@
+-- Codes must stay in sync with UserStatus#getCode.
+ALTER TABLE user_table DROP CONSTRAINT IF EXISTS user_table_status_check;
+
+ALTER TABLE user_table
+    ALTER COLUMN status TYPE SMALLINT USING CASE status
+                                                WHEN 'ACTIVATE' THEN 1
+                                                WHEN 'INACTIVATE' THEN 2
+                                                WHEN 'DELETED' THEN 3
+        END;
+
+ALTER TABLE user_table
+    ADD CONSTRAINT ck_user_table_status CHECK (status IN (1, 2, 3));
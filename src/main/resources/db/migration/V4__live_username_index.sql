@@ -0,0 +1,2 @@
+-- Lookups that skip soft-deleted users (status 3) stay on a smaller index as deleted rows accumulate.
+CREATE INDEX IF NOT EXISTS ix_user_table_username_live ON user_table (username) WHERE status <> 3;
@@ -0,0 +1,11 @@
+-- Backs GET /api/v1/users/search.
+-- Prefix matches need an operator class that compares byte-wise; the unique index follows the database collation
+-- and cannot serve LIKE 'abc%' outside the C locale.
+CREATE INDEX IF NOT EXISTS ix_user_table_username_prefix ON user_table (username text_pattern_ops);
+
+-- Substring matches (LIKE '%abc%') through trigrams; patterns shorter than three characters cannot use it.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS ix_user_table_username_trgm ON user_table USING gin (username gin_trgm_ops);
+
+-- Status filter walked in id order for keyset pagination.
+CREATE INDEX IF NOT EXISTS ix_user_table_status_id ON user_table (status, id);
@@ -0,0 +1,10 @@
+-- Change events written in the same transaction as the user mutation; the relay publishes and then deletes them.
+CREATE TABLE IF NOT EXISTS user_outbox
+(
+    id          BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    user_id     BIGINT      NOT NULL,
+    type        SMALLINT    NOT NULL,
+    username    VARCHAR(255),
+    status      SMALLINT    NOT NULL,
+    occurred_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
@@ -0,0 +1,52 @@
+-- Every row carries a version and the time of its last change; both are maintained here rather than by each writer,
+-- so JDBC, JPA and R2DBC updates bump them alike. An UPDATE that changes nothing keeps the old version.
+ALTER TABLE user_table
+    ADD COLUMN IF NOT EXISTS version    BIGINT      NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS updated_at TIMESTAMPTZ NOT NULL DEFAULT now();
+
+CREATE OR REPLACE FUNCTION user_table_bump_version() RETURNS trigger AS
+$$
+BEGIN
+    IF (NEW.username, NEW.password, NEW.status) IS DISTINCT FROM (OLD.username, OLD.password, OLD.status) THEN
+        NEW.version := OLD.version + 1;
+        NEW.updated_at := now();
+    ELSE
+        NEW.version := OLD.version;
+        NEW.updated_at := OLD.updated_at;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS user_table_bump_version ON user_table;
+CREATE TRIGGER user_table_bump_version
+    BEFORE UPDATE ON user_table
+    FOR EACH ROW
+EXECUTE FUNCTION user_table_bump_version();
+
+-- Table-wide change marker: one row bumped by every statement that writes user_table, so list responses can be
+-- revalidated without reading users. Writers serialize on this row until they commit.
+CREATE TABLE IF NOT EXISTS user_table_version
+(
+    id         BOOLEAN PRIMARY KEY DEFAULT TRUE CHECK (id),
+    version    BIGINT      NOT NULL,
+    changed_at TIMESTAMPTZ NOT NULL
+);
+
+INSERT INTO user_table_version (version, changed_at)
+VALUES (0, now())
+ON CONFLICT DO NOTHING;
+
+CREATE OR REPLACE FUNCTION user_table_bump_table_version() RETURNS trigger AS
+$$
+BEGIN
+    UPDATE user_table_version SET version = version + 1, changed_at = now();
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS user_table_bump_table_version ON user_table;
+CREATE TRIGGER user_table_bump_table_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON user_table
+    FOR EACH STATEMENT
+EXECUTE FUNCTION user_table_bump_table_version();
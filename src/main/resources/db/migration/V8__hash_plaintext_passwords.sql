@@ -0,0 +1,9 @@
+-- Passwords stored before hashing was added are plaintext and have no {id} prefix, so PasswordEncoder rejects them and
+-- those users cannot log in. Hash them in place as {bcrypt}: pgcrypto writes $2a$ hashes, which BCryptPasswordEncoder
+-- verifies. Cost 10 matches the default app.security.password.bcrypt.strength; every new hash uses the configured KDF.
+-- Expect roughly a tenth of a second per plaintext row.
+CREATE EXTENSION IF NOT EXISTS pgcrypto;
+
+UPDATE user_table
+SET password = '{bcrypt}' || crypt(password, gen_salt('bf', 10))
+WHERE password !~ '^\{[A-Za-z0-9]+\}';
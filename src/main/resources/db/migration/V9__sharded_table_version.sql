@@ -0,0 +1,99 @@
+-- The single user_table_version row made every writer wait for the previous one to commit, and it was bumped even by
+-- statements that changed no rows. The marker is now spread over 64 slots: a transaction bumps only the slot picked by
+-- its transaction id, so concurrent writers rarely share a row lock, and readers take the sum, which is consistent
+-- with the users visible in the same snapshot whatever order the writers commit in. A statement bumps its slot only
+-- when it inserted, deleted or changed rows; an UPDATE whose rows keep their version (no-op or lost If-Match) and an
+-- INSERT ... ON CONFLICT DO NOTHING that skipped every row leave it alone.
+DROP TRIGGER IF EXISTS user_table_bump_table_version ON user_table;
+DROP FUNCTION IF EXISTS user_table_bump_table_version();
+
+CREATE TABLE user_table_version_slot
+(
+    slot       SMALLINT PRIMARY KEY,
+    version    BIGINT      NOT NULL,
+    changed_at TIMESTAMPTZ NOT NULL
+);
+
+-- Slot 0 carries the old marker over, so the summed version keeps growing across the migration.
+INSERT INTO user_table_version_slot (slot, version, changed_at)
+SELECT slots.slot, CASE WHEN slots.slot = 0 THEN current.version ELSE 0 END, current.changed_at
+FROM generate_series(0, 63) AS slots(slot)
+         CROSS JOIN user_table_version AS current;
+
+DROP TABLE user_table_version;
+
+CREATE VIEW user_table_version AS
+SELECT sum(version)::BIGINT AS version, max(changed_at) AS changed_at
+FROM user_table_version_slot;
+
+CREATE OR REPLACE FUNCTION user_table_bump_version_slot() RETURNS void AS
+$$
+UPDATE user_table_version_slot
+SET version    = version + 1,
+    changed_at = now()
+WHERE slot = txid_current() % 64;
+$$ LANGUAGE sql;
+
+CREATE OR REPLACE FUNCTION user_table_bump_table_version_on_insert() RETURNS trigger AS
+$$
+BEGIN
+    IF EXISTS (SELECT 1 FROM inserted_rows) THEN
+        PERFORM user_table_bump_version_slot();
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION user_table_bump_table_version_on_update() RETURNS trigger AS
+$$
+BEGIN
+    IF EXISTS (SELECT 1
+               FROM new_rows
+                        JOIN old_rows USING (id)
+               WHERE new_rows.version <> old_rows.version) THEN
+        PERFORM user_table_bump_version_slot();
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION user_table_bump_table_version_on_delete() RETURNS trigger AS
+$$
+BEGIN
+    IF EXISTS (SELECT 1 FROM deleted_rows) THEN
+        PERFORM user_table_bump_version_slot();
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION user_table_bump_table_version_on_truncate() RETURNS trigger AS
+$$
+BEGIN
+    PERFORM user_table_bump_version_slot();
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER user_table_bump_table_version_on_insert
+    AFTER INSERT ON user_table
+    REFERENCING NEW TABLE AS inserted_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION user_table_bump_table_version_on_insert();
+
+CREATE TRIGGER user_table_bump_table_version_on_update
+    AFTER UPDATE ON user_table
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION user_table_bump_table_version_on_update();
+
+CREATE TRIGGER user_table_bump_table_version_on_delete
+    AFTER DELETE ON user_table
+    REFERENCING OLD TABLE AS deleted_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION user_table_bump_table_version_on_delete();
+
+CREATE TRIGGER user_table_bump_table_version_on_truncate
+    AFTER TRUNCATE ON user_table
+    FOR EACH STATEMENT
+EXECUTE FUNCTION user_table_bump_table_version_on_truncate();
@@ -0,0 +1,103 @@
+package az.edu.turing.cache;
+
+import az.edu.turing.model.dto.UserDto;
+import az.edu.turing.model.enums.UserStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static az.edu.turing.constants.TestConstants.*;
+
+class UserCacheTest {
+
+    private final UserCache userCache = new UserCache(
+            new ConcurrentMapCacheManager(UserCache.USERS_BY_ID, UserCache.USER_IDS_BY_USERNAME));
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void findByUsername_Should_ReturnUser_When_Cached() {
+        userCache.put(USER_DTO);
+
+        Assertions.assertEquals(Optional.of(USER_DTO), userCache.findByUsername(USERNAME));
+        Assertions.assertEquals(Optional.of(USER_DTO), userCache.findById(ID_1));
+    }
+
+    @Test
+    void findByUsername_Should_MissOldUsername_When_UserRenamed() {
+        userCache.put(USER_DTO);
+        UserDto renamed = UserDto.builder()
+                .id(ID_1)
+                .username(UPDATED_USERNAME)
+                .status(STATUS)
+                .build();
+
+        userCache.put(renamed);
+
+        Assertions.assertEquals(Optional.empty(), userCache.findByUsername(USERNAME));
+        Assertions.assertEquals(Optional.of(renamed), userCache.findByUsername(UPDATED_USERNAME));
+    }
+
+    @Test
+    void put_Should_KeepDeletedUser_When_RowReadBeforeDeleteArrivesLater() {
+        UserDto deleted = UserDto.builder()
+                .id(ID_1)
+                .username(USERNAME)
+                .status(UserStatus.DELETED)
+                .version(UPDATED_VERSION)
+                .build();
+        userCache.put(deleted);
+
+        userCache.put(USER_DTO);
+
+        Assertions.assertEquals(Optional.of(deleted), userCache.findByUsername(USERNAME));
+    }
+
+    @Test
+    void put_Should_KeepNewerVersion_When_OlderVersionArrivesLater() {
+        userCache.put(UPDATED_USER_DTO);
+
+        userCache.put(USER_DTO);
+
+        Assertions.assertEquals(Optional.of(UPDATED_USER_DTO), userCache.findById(ID_1));
+        Assertions.assertEquals(Optional.empty(), userCache.findByUsername(USERNAME));
+    }
+
+    @Test
+    void put_Should_WaitForCommit_When_TransactionActive() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        userCache.put(USER_DTO);
+
+        Assertions.assertEquals(Optional.empty(), userCache.findById(ID_1));
+        commit();
+        Assertions.assertEquals(Optional.of(USER_DTO), userCache.findById(ID_1));
+    }
+
+    @Test
+    void put_Should_Skip_When_TransactionRollsBack() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        userCache.put(USER_DTO);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        Assertions.assertEquals(Optional.empty(), userCache.findById(ID_1));
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+}
@@ -0,0 +1,179 @@
+package az.edu.turing.cache;
+
+import az.edu.turing.config.properties.LookupCoalescingProperties;
+import az.edu.turing.domain.entity.UserEntity;
+import az.edu.turing.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static az.edu.turing.constants.TestConstants.*;
+
+class UserLookupCoalescerTest {
+
+    private static final int WAITERS = 8;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger queries = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void findByUsername_Should_ShareOneQuery_When_LookupsOverlap() throws Exception {
+        UserLookupCoalescer coalescer = coalescer(Duration.ofSeconds(5));
+        Future<Optional<UserEntity>> leader = lookup(coalescer, blockingLookup(Optional.of(USER_ENTITY_1)));
+        awaitInFlight();
+
+        List<Future<Optional<UserEntity>>> waiters = new ArrayList<>();
+        for (int i = 0; i < WAITERS; i++) {
+            waiters.add(lookup(coalescer, blockingLookup(Optional.of(USER_ENTITY_2))));
+        }
+        awaitCoalesced(WAITERS);
+        release.countDown();
+
+        Assertions.assertEquals(Optional.of(USER_ENTITY_1), leader.get(5, TimeUnit.SECONDS));
+        for (Future<Optional<UserEntity>> waiter : waiters) {
+            Assertions.assertEquals(Optional.of(USER_ENTITY_1), waiter.get(5, TimeUnit.SECONDS));
+        }
+        Assertions.assertEquals(1, queries.get());
+        Assertions.assertEquals(1, count("leader"));
+        Assertions.assertEquals(WAITERS, count("coalesced"));
+        Assertions.assertEquals(0, meterRegistry.get("users.lookup.coalescing.in.flight").gauge().value());
+    }
+
+    @Test
+    void findByUsername_Should_FailEveryCaller_When_QueryFails() throws Exception {
+        UserLookupCoalescer coalescer = coalescer(Duration.ofSeconds(5));
+        QueryTimeoutException failure = new QueryTimeoutException("canceling statement due to statement timeout");
+        Future<Optional<UserEntity>> leader = lookup(coalescer, username -> {
+            blockingLookup(Optional.empty()).apply(username);
+            throw failure;
+        });
+        awaitInFlight();
+        Future<Optional<UserEntity>> waiter = lookup(coalescer, blockingLookup(Optional.empty()));
+        awaitCoalesced(1);
+        release.countDown();
+
+        ExecutionException leaderFailure = Assertions.assertThrows(ExecutionException.class,
+                () -> leader.get(5, TimeUnit.SECONDS));
+        ExecutionException waiterFailure = Assertions.assertThrows(ExecutionException.class,
+                () -> waiter.get(5, TimeUnit.SECONDS));
+        Assertions.assertSame(failure, leaderFailure.getCause());
+        Assertions.assertSame(failure, waiterFailure.getCause());
+        Assertions.assertEquals(1, queries.get());
+    }
+
+    @Test
+    void findByUsername_Should_ThrowServiceUnavailable_When_WaitTimesOut() throws Exception {
+        UserLookupCoalescer coalescer = coalescer(Duration.ofMillis(50));
+        lookup(coalescer, blockingLookup(Optional.of(USER_ENTITY_1)));
+        awaitInFlight();
+
+        Assertions.assertThrows(ServiceUnavailableException.class,
+                () -> coalescer.findByUsername(USERNAME, blockingLookup(Optional.of(USER_ENTITY_1))));
+        Assertions.assertEquals(1, meterRegistry.get("users.lookup.coalescing.timeouts").counter().count());
+    }
+
+    @Test
+    void findByUsername_Should_QueryAgain_When_WriteFollowsTheQueryInFlight() throws Exception {
+        UserLookupCoalescer coalescer = coalescer(Duration.ofSeconds(5));
+        lookup(coalescer, blockingLookup(Optional.empty()));
+        awaitInFlight();
+
+        coalescer.invalidateAll();
+
+        Assertions.assertEquals(Optional.of(USER_ENTITY_1),
+                coalescer.findByUsername(USERNAME, username -> Optional.of(USER_ENTITY_1)));
+        Assertions.assertEquals(2, count("leader"));
+        Assertions.assertEquals(0, count("coalesced"));
+    }
+
+    @Test
+    void findUserByUsername_Should_NotJoinRowLookup_When_SameUsernameInFlight() throws Exception {
+        UserLookupCoalescer coalescer = coalescer(Duration.ofSeconds(5));
+        lookup(coalescer, blockingLookup(Optional.of(USER_ENTITY_1)));
+        awaitInFlight();
+
+        Assertions.assertEquals(Optional.of(USER_DTO),
+                coalescer.findUserByUsername(USERNAME, username -> Optional.of(USER_DTO)));
+        Assertions.assertEquals(2, count("leader"));
+        Assertions.assertEquals(1, meterRegistry.get("users.lookup.coalescing.in.flight").gauge().value());
+    }
+
+    @Test
+    void findByUsername_Should_QueryEveryTime_When_Disabled() {
+        LookupCoalescingProperties properties = new LookupCoalescingProperties();
+        properties.setEnabled(false);
+        UserLookupCoalescer coalescer = new UserLookupCoalescer(properties, meterRegistry);
+        Function<String, Optional<UserEntity>> lookup = username -> {
+            queries.incrementAndGet();
+            return Optional.of(USER_ENTITY_1);
+        };
+
+        coalescer.findByUsername(USERNAME, lookup);
+        coalescer.findByUsername(USERNAME, lookup);
+
+        Assertions.assertEquals(2, queries.get());
+        Assertions.assertEquals(0, count("leader"));
+    }
+
+    private UserLookupCoalescer coalescer(Duration timeout) {
+        LookupCoalescingProperties properties = new LookupCoalescingProperties();
+        properties.setTimeout(timeout);
+        return new UserLookupCoalescer(properties, meterRegistry);
+    }
+
+    private Function<String, Optional<UserEntity>> blockingLookup(Optional<UserEntity> result) {
+        return username -> {
+            queries.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return result;
+        };
+    }
+
+    private Future<Optional<UserEntity>> lookup(UserLookupCoalescer coalescer,
+                                                Function<String, Optional<UserEntity>> lookup) {
+        return executor.submit(() -> coalescer.findByUsername(USERNAME, lookup));
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        while (queries.get() == 0) {
+            Thread.sleep(1);
+        }
+    }
+
+    private void awaitCoalesced(int waiters) throws InterruptedException {
+        while (count("coalesced") < waiters) {
+            Thread.sleep(1);
+        }
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("users.lookup.coalescing").tag("outcome", outcome).counter().count();
+    }
+}
@@ -0,0 +1,70 @@
+package az.edu.turing.cache;
+
+import az.edu.turing.config.properties.UsernameFilterProperties;
+import az.edu.turing.domain.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.function.Consumer;
+
+import static az.edu.turing.constants.TestConstants.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class UsernameBloomFilterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void isDefinitelyAbsent_Should_ReturnFalse_Before_FirstRebuild() {
+        UsernameBloomFilter filter = new UsernameBloomFilter(userRepository, properties(), meterRegistry);
+
+        Assertions.assertFalse(filter.isDefinitelyAbsent(USERNAME));
+    }
+
+    @Test
+    void isDefinitelyAbsent_Should_ReflectSeededAndAddedUsernames() {
+        given(userRepository.forEachUsername(any())).willAnswer(invocation -> {
+            Consumer<String> consumer = invocation.getArgument(0);
+            consumer.accept(USERNAME);
+            return 1L;
+        });
+        UsernameBloomFilter filter = new UsernameBloomFilter(userRepository, properties(), meterRegistry);
+
+        filter.rebuild();
+        filter.add(USERNAME_2);
+
+        Assertions.assertFalse(filter.isDefinitelyAbsent(USERNAME));
+        Assertions.assertFalse(filter.isDefinitelyAbsent(USERNAME_2));
+        Assertions.assertTrue(filter.isDefinitelyAbsent(USERNAME_3));
+        Assertions.assertEquals(1, meterRegistry.get("users.username.filter.skipped").counter().count());
+    }
+
+    @Test
+    void rebuild_Should_KeepUsernamesAddedDuringScan() {
+        UsernameBloomFilter[] holder = new UsernameBloomFilter[1];
+        given(userRepository.forEachUsername(any())).willAnswer(invocation -> {
+            holder[0].add(USERNAME_2);
+            return 0L;
+        });
+        holder[0] = new UsernameBloomFilter(userRepository, properties(), meterRegistry);
+
+        holder[0].rebuild();
+
+        Assertions.assertFalse(holder[0].isDefinitelyAbsent(USERNAME_2));
+    }
+
+    private UsernameFilterProperties properties() {
+        UsernameFilterProperties properties = new UsernameFilterProperties();
+        properties.setExpectedInsertions(1_000);
+        return properties;
+    }
+}
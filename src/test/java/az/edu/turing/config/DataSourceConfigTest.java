@@ -0,0 +1,75 @@
+package az.edu.turing.config;
+
+import az.edu.turing.config.properties.ReplicaDataSourceProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+class DataSourceConfigTest {
+
+    private EmbeddedPostgres postgres;
+    private SimpleMeterRegistry meterRegistry;
+    private HikariDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        meterRegistry = new SimpleMeterRegistry();
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("meterRegistry", meterRegistry);
+
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl(postgres.getJdbcUrl("postgres", "postgres"));
+        properties.setUsername("postgres");
+        properties.afterPropertiesSet();
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.datasource.hikari.maximum-pool-size", "4")
+                .withProperty("spring.datasource.hikari.minimum-idle", "1")
+                .withProperty("spring.datasource.hikari.leak-detection-threshold", "30000")
+                .withProperty("spring.datasource.hikari.data-source-properties.prepareThreshold", "3");
+
+        DataSource bean = new DataSourceConfig().dataSource(properties, new ReplicaDataSourceProperties(),
+                environment, beanFactory.getBeanProvider(MeterRegistry.class));
+        dataSource = Assertions.assertInstanceOf(HikariDataSource.class, bean);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        dataSource.close();
+        postgres.close();
+    }
+
+    @Test
+    void dataSource_Should_BindHikariSettings_When_NoReplicasConfigured() {
+        Assertions.assertEquals("primary", dataSource.getPoolName());
+        Assertions.assertEquals(4, dataSource.getMaximumPoolSize());
+        Assertions.assertEquals(1, dataSource.getMinimumIdle());
+        Assertions.assertEquals(30000, dataSource.getLeakDetectionThreshold());
+        Assertions.assertEquals("3", dataSource.getDataSourceProperties().getProperty("prepareThreshold"));
+    }
+
+    @Test
+    void utilizationGauge_Should_TrackCheckedOutConnections() throws SQLException {
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            Assertions.assertEquals(0.5, utilization());
+        }
+        Assertions.assertEquals(0.0, utilization());
+    }
+
+    private double utilization() {
+        return meterRegistry.get("hikaricp.connections.utilization").tag("pool", "primary").gauge().value();
+    }
+}
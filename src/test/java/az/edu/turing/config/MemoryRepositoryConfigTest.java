@@ -0,0 +1,75 @@
+package az.edu.turing.config;
+
+import az.edu.turing.domain.repository.InMemoryUserRepository;
+import az.edu.turing.domain.repository.UserRepository;
+import az.edu.turing.model.dto.UserDto;
+import az.edu.turing.model.event.UserChangeEvent;
+import az.edu.turing.service.UserService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static az.edu.turing.constants.TestConstants.*;
+
+/**
+ * Boots the whole application with the {@code memory} repository and nothing listening on the configured
+ * PostgreSQL URL; any bean that still reached for the database would fail the context.
+ */
+@SpringBootTest(properties = {
+        "app.users.repository=memory",
+        "spring.datasource.url=jdbc:postgresql://localhost:1/unreachable"
+})
+class MemoryRepositoryConfigTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private List<UserChangeEvent> events;
+
+    @Test
+    void context_Should_StartWithoutDatabase() {
+        Assertions.assertInstanceOf(InMemoryUserRepository.class, context.getBean(UserRepository.class));
+        Assertions.assertEquals(0, context.getBeanNamesForType(DataSource.class).length);
+        Assertions.assertEquals(0, context.getBeanNamesForType(Flyway.class).length);
+        Assertions.assertEquals(0, context.getBeanNamesForType(JdbcTemplate.class).length);
+    }
+
+    @Test
+    void create_Should_StoreUserAndPublishEventAfterCommit() {
+        UserDto created = userService.create(CREATE_USER_REQUEST);
+
+        Assertions.assertEquals(created, userService.findByUsername(CREATE_USER_REQUEST.getUsername()));
+        Assertions.assertTrue(events.stream().anyMatch(event -> event.userId() == created.id()));
+    }
+
+    @TestConfiguration
+    static class EventCapture {
+
+        private final List<UserChangeEvent> events = new CopyOnWriteArrayList<>();
+
+        @Bean
+        List<UserChangeEvent> events() {
+            return events;
+        }
+
+        @EventListener
+        void on(UserChangeEvent event) {
+            events.add(event);
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package az.edu.turing.constants;
 
 import az.edu.turing.domain.entity.UserEntity;
+import az.edu.turing.domain.repository.UserTableVersion;
 import az.edu.turing.model.dto.UserDto;
 import az.edu.turing.model.dto.request.CreateUserRequest;
 import az.edu.turing.model.dto.request.UpdateUserRequest;
 import az.edu.turing.model.enums.UserStatus;
 
+import java.time.Instant;
+
 public interface TestConstants {
 
     long ID_1 = 1L;
@@ -17,14 +20,22 @@ public interface TestConstants {
     String UPDATED_USERNAME = "test@gmail.com";
     String PASSWORD = "Root123!";
     String UPDATED_PASSWORD = "Test123!";
+    String PASSWORD_HASH = "{bcrypt}$2a$10$root";
+    String UPDATED_PASSWORD_HASH = "{bcrypt}$2a$10$test";
     String BASE_URL = "/api/v1/users";
     UserStatus STATUS = UserStatus.ACTIVATE;
+    long VERSION = 0L;
+    long UPDATED_VERSION = 1L;
+    Instant UPDATED_AT = Instant.parse("2025-01-01T00:00:00Z");
+    UserTableVersion TABLE_VERSION = new UserTableVersion(7L, UPDATED_AT);
 
     UserEntity USER_ENTITY_1 = UserEntity.builder()
             .id(ID_1)
             .username(USERNAME)
             .password(PASSWORD)
             .status(STATUS)
+            .version(VERSION)
+            .updatedAt(UPDATED_AT)
             .build();
 
     UserEntity USER_ENTITY_2 = UserEntity.builder()
@@ -32,6 +43,8 @@ public interface TestConstants {
             .username(USERNAME_2)
             .password(PASSWORD)
             .status(STATUS)
+            .version(VERSION)
+            .updatedAt(UPDATED_AT)
             .build();
 
     UserEntity USER_ENTITY_3 = UserEntity.builder()
@@ -39,6 +52,8 @@ public interface TestConstants {
             .username(USERNAME_3)
             .password(PASSWORD)
             .status(STATUS)
+            .version(VERSION)
+            .updatedAt(UPDATED_AT)
             .build();
 
     UserEntity UPDATED_USER_ENTITY = UserEntity.builder()
@@ -46,6 +61,8 @@ public interface TestConstants {
             .username(UPDATED_USERNAME)
             .password(UPDATED_PASSWORD)
             .status(STATUS)
+            .version(UPDATED_VERSION)
+            .updatedAt(UPDATED_AT)
             .build();
 
 
@@ -63,15 +80,33 @@ public interface TestConstants {
     UserDto USER_DTO = UserDto.builder()
             .id(ID_1)
             .username(USERNAME)
-            .password(PASSWORD)
             .status(STATUS)
+            .version(VERSION)
+            .updatedAt(UPDATED_AT)
+            .build();
+
+    UserDto USER_DTO_2 = UserDto.builder()
+            .id(ID_2)
+            .username(USERNAME_2)
+            .status(STATUS)
+            .version(VERSION)
+            .updatedAt(UPDATED_AT)
+            .build();
+
+    UserDto USER_DTO_3 = UserDto.builder()
+            .id(ID_3)
+            .username(USERNAME_3)
+            .status(STATUS)
+            .version(VERSION)
+            .updatedAt(UPDATED_AT)
             .build();
 
     UserDto UPDATED_USER_DTO = UserDto.builder()
             .id(ID_1)
             .username(UPDATED_USERNAME)
-            .password(UPDATED_PASSWORD)
             .status(STATUS)
+            .version(UPDATED_VERSION)
+            .updatedAt(UPDATED_AT)
             .build();
 
 }
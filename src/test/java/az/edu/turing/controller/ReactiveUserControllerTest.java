@@ -0,0 +1,124 @@
+package az.edu.turing.controller;
+
+import az.edu.turing.exception.AlreadyExistsException;
+import az.edu.turing.exception.NotFoundException;
+import az.edu.turing.model.constants.ErrorCode;
+import az.edu.turing.model.dto.UserDto;
+import az.edu.turing.model.dto.request.CreateUserRequest;
+import az.edu.turing.model.dto.response.UserPageResponse;
+import az.edu.turing.service.ReactiveUserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static az.edu.turing.constants.TestConstants.*;
+import static org.mockito.BDDMockito.*;
+
+@WebFluxTest(ReactiveUserController.class)
+@ActiveProfiles("reactive")
+@Import(SimpleMeterRegistry.class)
+class ReactiveUserControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private ReactiveUserService userService;
+
+    private final CreateUserRequest createRequest = CreateUserRequest.builder()
+            .username(USERNAME)
+            .password(PASSWORD)
+            .confirmPassword(PASSWORD)
+            .build();
+
+    @Test
+    void create_Should_ReturnSuccess() {
+        given(userService.create(createRequest)).willReturn(Mono.just(USER_DTO));
+
+        webTestClient.post().uri(BASE_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createRequest)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(UserDto.class).isEqualTo(USER_DTO);
+    }
+
+    @Test
+    void create_Should_Return409_When_UsernameExists() {
+        given(userService.create(createRequest))
+                .willReturn(Mono.error(new AlreadyExistsException("user already exists with this username " + USERNAME)));
+
+        webTestClient.post().uri(BASE_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createRequest)
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo(ErrorCode.ALREADY_EXISTS);
+    }
+
+    @Test
+    void getAll_Should_ReturnPage() {
+        UserPageResponse page = UserPageResponse.builder()
+                .users(List.of(USER_DTO))
+                .nextCursor(ID_1)
+                .build();
+        given(userService.findAll(0L, 1)).willReturn(Mono.just(page));
+
+        webTestClient.get().uri(BASE_URL + "?limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(UserPageResponse.class).isEqualTo(page);
+    }
+
+    @Test
+    void getAll_Should_Return400_When_LimitTooLarge() {
+        webTestClient.get().uri(BASE_URL + "?limit=501")
+                .exchange()
+                .expectStatus().isBadRequest();
+        then(userService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void streamAll_Should_ReturnNdjson() {
+        given(userService.streamAll()).willReturn(Flux.just(USER_DTO, UPDATED_USER_DTO));
+
+        webTestClient.get().uri(BASE_URL)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(UserDto.class).isEqualTo(List.of(USER_DTO, UPDATED_USER_DTO));
+    }
+
+    @Test
+    void getByUsername_Should_Return404_When_UserNotFound() {
+        given(userService.findByUsername(USERNAME))
+                .willReturn(Mono.error(new NotFoundException("There is not user with username " + USERNAME)));
+
+        webTestClient.get().uri(BASE_URL + "/" + USERNAME)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo(ErrorCode.NOT_FOUND);
+    }
+
+    @Test
+    void delete_Should_ReturnNoContent() {
+        given(userService.deleteById(ID_1)).willReturn(Mono.empty());
+
+        webTestClient.delete().uri(BASE_URL + "/" + ID_1)
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+}
@@ -2,24 +2,41 @@ package az.edu.turing.controller;
 
 import az.edu.turing.exception.GlobalErrorResponse;
 import az.edu.turing.exception.NotFoundException;
+import az.edu.turing.exception.PreconditionFailedException;
 import az.edu.turing.model.constants.ErrorCode;
+import az.edu.turing.model.dto.UserDto;
+import az.edu.turing.model.dto.request.BulkStatusUpdateRequest;
 import az.edu.turing.model.dto.request.CreateUserRequest;
 import az.edu.turing.model.dto.request.UpdateUserRequest;
+import az.edu.turing.model.dto.request.UserLookupRequest;
+import az.edu.turing.model.dto.request.UserSearchRequest;
+import az.edu.turing.model.dto.response.BulkStatusUpdateResponse;
+import az.edu.turing.model.dto.response.UserImportReport;
+import az.edu.turing.model.dto.response.UserLookupResponse;
+import az.edu.turing.model.dto.response.UserPageResponse;
+import az.edu.turing.model.enums.ImportFormat;
 import az.edu.turing.model.enums.UserStatus;
+import az.edu.turing.service.UserImportService;
 import az.edu.turing.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 
-
-import java.util.Set;
+import java.util.List;
+import java.util.function.Consumer;
 
 import static az.edu.turing.constants.TestConstants.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.BDDMockito.*;
 import static org.mockito.Mockito.times;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -27,6 +44,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(UserController.class)
+@Import(SimpleMeterRegistry.class)
 class UserControllerTest {
 
     @Autowired
@@ -35,9 +53,15 @@ class UserControllerTest {
     @MockitoBean
     private UserService userService;
 
+    @MockitoBean
+    private UserImportService userImportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     void create_Should_ReturnSuccess() throws Exception {
         given(userService.create(CREATE_USER_REQUEST)).willReturn(USER_DTO);
@@ -73,14 +97,172 @@ class UserControllerTest {
 
     @Test
     void getAll_Should_ReturnSuccess() throws Exception {
-        given(userService.findAll()).willReturn(Set.of(USER_DTO));
+        UserPageResponse page = UserPageResponse.builder()
+                .users(List.of(USER_DTO))
+                .nextCursor(ID_1)
+                .tableVersion(TABLE_VERSION)
+                .build();
+        given(userService.tableVersion()).willReturn(TABLE_VERSION);
+        given(userService.findAll(0, 1)).willReturn(page);
 
-        mockMvc.perform(get(BASE_URL))
+        mockMvc.perform(get(BASE_URL).param("limit", "1"))
                 .andExpect(status().isOk())
-                .andExpect(content().json(objectMapper.writeValueAsString(Set.of(USER_DTO))))
+                .andExpect(header().string("ETag", "\"7\""))
+                .andExpect(header().dateValue("Last-Modified", UPDATED_AT.toEpochMilli()))
+                .andExpect(content().json(objectMapper.writeValueAsString(page)))
+                .andExpect(jsonPath("$.tableVersion").doesNotExist())
+                .andDo(print());
+
+        then(userService).should(times(1)).findAll(0, 1);
+    }
+
+    @Test
+    void getAll_Should_Return304_When_TableVersionUnchanged() throws Exception {
+        given(userService.tableVersion()).willReturn(TABLE_VERSION);
+
+        mockMvc.perform(get(BASE_URL).header("If-None-Match", "\"7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"7\""))
+                .andExpect(content().string(""))
+                .andDo(print());
+
+        then(userService).should(times(1)).tableVersion();
+        then(userService).shouldHaveNoMoreInteractions();
+    }
+
+    @Test
+    void getAll_Should_Return400_When_LimitTooLarge() throws Exception {
+        mockMvc.perform(get(BASE_URL).param("limit", "100000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value(ErrorCode.BAD_REQUEST))
                 .andDo(print());
 
-        then(userService).should(times(1)).findAll();
+        then(userService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void search_Should_ReturnSuccess() throws Exception {
+        UserSearchRequest request = UserSearchRequest.builder()
+                .usernamePrefix("root")
+                .status(UserStatus.ACTIVATE)
+                .build();
+        UserPageResponse page = UserPageResponse.builder()
+                .users(List.of(USER_DTO))
+                .tableVersion(TABLE_VERSION)
+                .build();
+        given(userService.tableVersion()).willReturn(TABLE_VERSION);
+        given(userService.search(request, ID_1, 50)).willReturn(page);
+
+        mockMvc.perform(get(BASE_URL + "/search")
+                        .param("usernamePrefix", "root")
+                        .param("status", "ACTIVATE")
+                        .param("after", String.valueOf(ID_1)))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(page)))
+                .andDo(print());
+
+        then(userService).should(times(1)).search(request, ID_1, 50);
+    }
+
+    @Test
+    void search_Should_Return400_When_SubstringTooShort() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/search").param("usernameContains", "ro"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value(ErrorCode.BAD_REQUEST))
+                .andDo(print());
+
+        then(userService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void lookup_Should_ReturnSuccess() throws Exception {
+        UserLookupRequest request = UserLookupRequest.builder()
+                .ids(List.of(ID_1, ID_3))
+                .usernames(List.of(USERNAME_2))
+                .build();
+        UserLookupResponse response = UserLookupResponse.builder()
+                .users(List.of(USER_DTO, USER_DTO_2))
+                .missingIds(List.of(ID_3))
+                .missingUsernames(List.of())
+                .build();
+
+        given(userService.lookup(request)).willReturn(response);
+
+        mockMvc.perform(post(BASE_URL + "/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(response)))
+                .andDo(print());
+
+        then(userService).should(times(1)).lookup(request);
+    }
+
+    @Test
+    void lookup_Should_Return400_When_UsernameIsBlank() throws Exception {
+        UserLookupRequest request = UserLookupRequest.builder()
+                .usernames(List.of(" "))
+                .build();
+
+        mockMvc.perform(post(BASE_URL + "/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value(ErrorCode.BAD_REQUEST))
+                .andDo(print());
+
+        then(userService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamAll_Should_WriteNdjson() throws Exception {
+        willAnswer(invocation -> {
+            Consumer<Object> consumer = invocation.getArgument(0);
+            consumer.accept(USER_DTO);
+            consumer.accept(UPDATED_USER_DTO);
+            return null;
+        }).given(userService).streamAll(any());
+
+        MvcResult result = mockMvc.perform(get(BASE_URL).accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(objectMapper.writeValueAsString(USER_DTO) + "\n"
+                        + objectMapper.writeValueAsString(UPDATED_USER_DTO)))
+                .andDo(print());
+    }
+
+    @Test
+    void importUsers_Should_ReturnReport_When_BodyIsNdjson() throws Exception {
+        UserImportReport report = UserImportReport.builder()
+                .processed(1)
+                .imported(1)
+                .build();
+        given(userImportService.importUsers(any(), eq(ImportFormat.NDJSON))).willReturn(report);
+
+        mockMvc.perform(post(BASE_URL + "/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(objectMapper.writeValueAsString(CREATE_USER_REQUEST)))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(report)))
+                .andDo(print());
+
+        then(userImportService).should(times(1)).importUsers(any(), eq(ImportFormat.NDJSON));
+    }
+
+    @Test
+    void importUsers_Should_Return415_When_FormatIsUnsupported() throws Exception {
+        mockMvc.perform(post(BASE_URL + "/import")
+                        .contentType(MediaType.APPLICATION_XML)
+                        .content("<users/>"))
+                .andExpect(status().isUnsupportedMediaType())
+                .andDo(print());
+
+        then(userImportService).shouldHaveNoInteractions();
     }
 
     @Test
@@ -89,6 +271,8 @@ class UserControllerTest {
 
         mockMvc.perform(get(BASE_URL + "/{username}", USERNAME))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1.0\""))
+                .andExpect(header().dateValue("Last-Modified", UPDATED_AT.toEpochMilli()))
                 .andExpect(content().json(objectMapper.writeValueAsString(USER_DTO)))
                 .andDo(print());
 
@@ -96,6 +280,16 @@ class UserControllerTest {
 
     }
 
+    @Test
+    void getByUserName_Should_Return304_When_ETagMatches() throws Exception {
+        given(userService.findByUsername(USERNAME)).willReturn(USER_DTO);
+
+        mockMvc.perform(get(BASE_URL + "/{username}", USERNAME).header("If-None-Match", "\"1.0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""))
+                .andDo(print());
+    }
+
     @Test
     void getByUserName_Should_Return404_When_UsernameNotFound() throws Exception {
         GlobalErrorResponse notFoundErrorResponse = GlobalErrorResponse.builder()
@@ -106,6 +300,7 @@ class UserControllerTest {
                 .build();
 
         given(userService.findByUsername(USERNAME)).willThrow(NotFoundException.class);
+        double notFoundBefore = notFoundErrors();
 
         mockMvc.perform(get(BASE_URL + "/{username}", USERNAME))
                 .andExpect(status().isNotFound())
@@ -113,6 +308,7 @@ class UserControllerTest {
                 .andDo(print());
 
         then(userService).should(times(1)).findByUsername(USERNAME);
+        assertEquals(notFoundBefore + 1, notFoundErrors());
     }
 
     @Test
@@ -132,7 +328,7 @@ class UserControllerTest {
     @Test
     void update_Should_ReturnSuccess() throws Exception {
 
-        given(userService.update(1L, UPDATE_USER_REQUEST)).willReturn(UPDATED_USER_DTO);
+        given(userService.update(1L, UPDATE_USER_REQUEST, null)).willReturn(UPDATED_USER_DTO);
 
         mockMvc.perform(put(BASE_URL + "/{id}", ID_1)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -141,7 +337,54 @@ class UserControllerTest {
                 .andExpect(content().json(objectMapper.writeValueAsString(UPDATED_USER_DTO)))
                 .andDo(print());
 
-        then(userService).should(times(1)).update(1, UPDATE_USER_REQUEST);
+        then(userService).should(times(1)).update(1, UPDATE_USER_REQUEST, null);
+    }
+
+    @Test
+    void update_Should_PassVersion_When_IfMatchIsGiven() throws Exception {
+
+        given(userService.update(ID_1, UPDATE_USER_REQUEST, VERSION)).willReturn(UPDATED_USER_DTO);
+
+        mockMvc.perform(put(BASE_URL + "/{id}", ID_1)
+                        .header("If-Match", "\"" + ID_1 + "." + VERSION + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(UPDATE_USER_REQUEST)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + ID_1 + "." + UPDATED_VERSION + "\""))
+                .andDo(print());
+
+        then(userService).should(times(1)).update(ID_1, UPDATE_USER_REQUEST, VERSION);
+    }
+
+    @Test
+    void update_Should_Return412_When_VersionIsStale() throws Exception {
+
+        given(userService.update(ID_1, UPDATE_USER_REQUEST, VERSION)).willThrow(
+                new PreconditionFailedException("User " + ID_1 + " is no longer at version " + VERSION)
+        );
+
+        mockMvc.perform(put(BASE_URL + "/{id}", ID_1)
+                        .header("If-Match", "\"" + ID_1 + "." + VERSION + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(UPDATE_USER_REQUEST)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.errorCode").value(ErrorCode.PRECONDITION_FAILED))
+                .andExpect(jsonPath("$.errorMessage").exists())
+                .andDo(print());
+    }
+
+    @Test
+    void update_Should_Return412_When_IfMatchNamesAnotherUser() throws Exception {
+
+        mockMvc.perform(put(BASE_URL + "/{id}", ID_1)
+                        .header("If-Match", "\"" + ID_2 + "." + VERSION + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(UPDATE_USER_REQUEST)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.errorCode").value(ErrorCode.PRECONDITION_FAILED))
+                .andDo(print());
+
+        then(userService).shouldHaveNoInteractions();
     }
 
     @Test
@@ -149,7 +392,7 @@ class UserControllerTest {
 
         long wrongId = 12;
 
-        given(userService.update(wrongId, UPDATE_USER_REQUEST)).willThrow(
+        given(userService.update(wrongId, UPDATE_USER_REQUEST, null)).willThrow(
                 new NotFoundException("There is not user with id " + wrongId)
         );
 
@@ -161,7 +404,7 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.errorMessage").exists())
                 .andDo(print());
 
-        then(userService).should(times(1)).update(wrongId, UPDATE_USER_REQUEST);
+        then(userService).should(times(1)).update(wrongId, UPDATE_USER_REQUEST, null);
     }
 
     @Test
@@ -187,26 +430,46 @@ class UserControllerTest {
 
     @Test
     void updateStatus_Should_ReturnSuccess() throws Exception {
-        UPDATED_USER_DTO.setStatus(UserStatus.INACTIVATE);
+        UserDto inactiveUser = UserDto.builder()
+                .id(ID_1)
+                .username(UPDATED_USERNAME)
+                .status(UserStatus.INACTIVATE)
+                .version(UPDATED_VERSION)
+                .updatedAt(UPDATED_AT)
+                .build();
 
-        given(userService.updateStatus(ID_2, UserStatus.INACTIVATE)).willReturn(UPDATED_USER_DTO);
+        given(userService.updateStatus(ID_2, UserStatus.INACTIVATE, null)).willReturn(inactiveUser);
 
         mockMvc.perform(patch(BASE_URL + "/{id}", ID_2)
                         .contentType(MediaType.APPLICATION_JSON)
                         .param("status", UserStatus.INACTIVATE.name())
                 )
                 .andExpect(status().isOk())
-                .andExpect(content().json(objectMapper.writeValueAsString(UPDATED_USER_DTO)))
+                .andExpect(content().json(objectMapper.writeValueAsString(inactiveUser)))
+                .andDo(print());
+
+        then(userService).should(times(1)).updateStatus(ID_2, UserStatus.INACTIVATE, null);
+    }
+
+    @Test
+    void updateStatus_Should_Return412_When_IfMatchIsWeak() throws Exception {
+
+        mockMvc.perform(patch(BASE_URL + "/{id}", ID_2)
+                        .header("If-Match", "W/\"" + ID_2 + "." + VERSION + "\"")
+                        .param("status", UserStatus.INACTIVATE.name())
+                )
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.errorCode").value(ErrorCode.PRECONDITION_FAILED))
                 .andDo(print());
 
-        then(userService).should(times(1)).updateStatus(ID_2, UserStatus.INACTIVATE);
+        then(userService).shouldHaveNoInteractions();
     }
 
     @Test
     void updateStatus_Should_Return404_When_UserNotFound() throws Exception {
         long wrongId = 12;
 
-        given(userService.updateStatus(wrongId, UserStatus.INACTIVATE))
+        given(userService.updateStatus(wrongId, UserStatus.INACTIVATE, null))
                 .willThrow(new NotFoundException("There is not user with id " + wrongId));
 
         mockMvc.perform(patch(BASE_URL + "/{id}", wrongId)
@@ -218,7 +481,7 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.errorMessage").exists())
                 .andDo(print());
 
-        then(userService).should(times(1)).updateStatus(wrongId, UserStatus.INACTIVATE);
+        then(userService).should(times(1)).updateStatus(wrongId, UserStatus.INACTIVATE, null);
     }
 
     @Test
@@ -246,4 +509,40 @@ class UserControllerTest {
 
         then(userService).should(times(1)).deleteById(userId);
     }
+
+    @Test
+    void updateStatuses_Should_ReturnAffectedCounts() throws Exception {
+        BulkStatusUpdateRequest request = BulkStatusUpdateRequest.builder()
+                .status(UserStatus.INACTIVATE)
+                .ids(List.of(ID_1, ID_2))
+                .build();
+        BulkStatusUpdateResponse response = BulkStatusUpdateResponse.builder()
+                .status(UserStatus.INACTIVATE)
+                .requested(2)
+                .updated(1)
+                .build();
+        given(userService.updateStatuses(request)).willReturn(response);
+
+        mockMvc.perform(patch(BASE_URL + "/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(response)))
+                .andDo(print());
+    }
+
+    @Test
+    void updateStatuses_Should_Return400_When_StatusMissing() throws Exception {
+        mockMvc.perform(patch(BASE_URL + "/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[1,2]}"))
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+        then(userService).shouldHaveNoInteractions();
+    }
+
+    private double notFoundErrors() {
+        Counter counter = meterRegistry.find("users.errors").tag("code", ErrorCode.NOT_FOUND).counter();
+        return counter == null ? 0 : counter.count();
+    }
 }
@@ -0,0 +1,112 @@
+package az.edu.turing.domain.datasource;
+
+import az.edu.turing.domain.repository.JdbcTemplateUserRepository;
+import az.edu.turing.domain.repository.UserRepository;
+import az.edu.turing.mapper.UserDtoRowMapper;
+import az.edu.turing.mapper.UserRowMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs against two embedded PostgreSQL instances standing in for the primary and a replica; each one answers
+ * {@code SELECT name FROM node} with its own role, and only the primary has a user.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private EmbeddedPostgres primary;
+    private EmbeddedPostgres replica;
+    private ReplicaRoutingDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate readWriteTransaction;
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        primary = EmbeddedPostgres.start();
+        replica = EmbeddedPostgres.start();
+        label(primary.getPostgresDatabase(), "primary");
+        label(replica.getPostgresDatabase(), "replica");
+
+        dataSource = new ReplicaRoutingDataSource(primary.getPostgresDatabase(),
+                Map.of("replica-1", replica.getPostgresDatabase()), Duration.ofSeconds(1));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+
+        ProxyFactory proxyFactory = new ProxyFactory(
+                new JdbcTemplateUserRepository(jdbcTemplate, new UserRowMapper(), new UserDtoRowMapper()));
+        proxyFactory.addAdvice(new TransactionInterceptor((TransactionManager) transactionManager,
+                new AnnotationTransactionAttributeSource()));
+        userRepository = (UserRepository) proxyFactory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        primary.close();
+        replica.close();
+    }
+
+    @Test
+    void readOnlyTransaction_Should_UseReplica() {
+        Assertions.assertEquals("replica", readOnlyTransaction.execute(status -> node()));
+    }
+
+    @Test
+    void readWriteTransactionAndAutoCommit_Should_UsePrimary() {
+        Assertions.assertEquals("primary", readWriteTransaction.execute(status -> node()));
+        Assertions.assertEquals("primary", node());
+    }
+
+    @Test
+    void readOnlyTransaction_Should_FallBackToPrimary_When_ReplicaUnhealthy() throws IOException {
+        replica.close();
+
+        dataSource.checkReplicas();
+
+        Assertions.assertEquals(Map.of("replica-1", false), dataSource.replicaHealth());
+        Assertions.assertEquals("primary", readOnlyTransaction.execute(status -> node()));
+    }
+
+    @Test
+    void forEachUsername_Should_UsePrimary() {
+        List<String> usernames = new ArrayList<>();
+
+        userRepository.forEachUsername(usernames::add);
+
+        Assertions.assertEquals(List.of("primary@gmail.com"), usernames);
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static void label(DataSource dataSource, String name) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE node (name TEXT)");
+        jdbcTemplate.update("INSERT INTO node VALUES (?)", name);
+        jdbcTemplate.execute("CREATE TABLE user_table (username TEXT)");
+        if (name.equals("primary")) {
+            jdbcTemplate.update("INSERT INTO user_table VALUES (?)", name + "@gmail.com");
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package az.edu.turing.domain.repository;
+
+import az.edu.turing.config.properties.MemoryRepositoryProperties;
+import az.edu.turing.domain.entity.UserEntity;
+import az.edu.turing.model.enums.UserStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static az.edu.turing.constants.TestConstants.*;
+
+class InMemoryUserRepositoryTest extends UserRepositoryContractTest {
+
+    private InMemoryUserRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryUserRepository(new MemoryRepositoryProperties());
+    }
+
+    @Override
+    protected UserRepository repository() {
+        return repository;
+    }
+
+    @Test
+    void findByUsername_Should_ReturnCopy() {
+        insert(USERNAME);
+
+        repository.findByUsername(USERNAME).orElseThrow().setStatus(UserStatus.DELETED);
+
+        Assertions.assertEquals(UserStatus.ACTIVATE, repository.findByUsername(USERNAME).orElseThrow().getStatus());
+    }
+
+    @Test
+    void insertIfAbsent_Should_AcceptOneWriter_When_UsernameRacedFor() throws Exception {
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<Boolean>> results = IntStream.range(0, 64)
+                    .mapToObj(i -> executor.submit(() -> repository.insertIfAbsent(UserEntity.builder()
+                            .username(USERNAME)
+                            .password(PASSWORD_HASH)
+                            .status(UserStatus.ACTIVATE)
+                            .build()).isPresent()))
+                    .toList();
+            long winners = 0;
+            for (Future<Boolean> result : results) {
+                winners += result.get() ? 1 : 0;
+            }
+            Assertions.assertEquals(1, winners);
+        }
+    }
+
+    @Test
+    void snapshot_Should_RestoreUsersAndIdSequence(@TempDir Path directory) throws Exception {
+        MemoryRepositoryProperties properties = new MemoryRepositoryProperties();
+        properties.setSnapshotPath(directory.resolve("users.snapshot"));
+        InMemoryUserRepository original = new InMemoryUserRepository(properties);
+        UserEntity first = original.insertIfAbsent(UserEntity.builder()
+                .username(USERNAME).password(PASSWORD_HASH).status(UserStatus.ACTIVATE).build()).orElseThrow();
+        original.updateStatus(first.getId(), UserStatus.INACTIVATE);
+        original.snapshot();
+
+        InMemoryUserRepository restored = new InMemoryUserRepository(properties);
+        restored.restore();
+
+        Assertions.assertEquals(original.findPage(0, 10), restored.findPage(0, 10));
+        UserEntity second = restored.insertIfAbsent(UserEntity.builder()
+                .username(USERNAME_2).password(PASSWORD_HASH).status(UserStatus.ACTIVATE).build()).orElseThrow();
+        Assertions.assertTrue(second.getId() > first.getId());
+    }
+}
@@ -0,0 +1,43 @@
+package az.edu.turing.domain.repository;
+
+import az.edu.turing.mapper.UserDtoRowMapper;
+import az.edu.turing.mapper.UserRowMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+
+class JdbcTemplateUserRepositoryTest extends UserRepositoryContractTest {
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+
+    private JdbcTemplateUserRepository repository;
+
+    @BeforeAll
+    static void startDatabase() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        Flyway.configure().dataSource(postgres.getPostgresDatabase()).load().migrate();
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE user_table RESTART IDENTITY");
+        repository = new JdbcTemplateUserRepository(jdbcTemplate, new UserRowMapper(), new UserDtoRowMapper());
+    }
+
+    @Override
+    protected UserRepository repository() {
+        return repository;
+    }
+}
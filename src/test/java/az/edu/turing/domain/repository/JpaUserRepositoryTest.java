@@ -0,0 +1,108 @@
+package az.edu.turing.domain.repository;
+
+import az.edu.turing.config.DataSourceConfig;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static az.edu.turing.constants.TestConstants.*;
+
+/**
+ * Runs without a test-managed transaction so every repository call commits on its own, as it does in production.
+ */
+@DataJpaTest(properties = "app.users.repository=jpa")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({JpaUserRepository.class, DataSourceConfig.class})
+class JpaUserRepositoryTest extends UserRepositoryContractTest {
+
+    private static final EmbeddedPostgres POSTGRES = start();
+
+    @Autowired
+    private JpaUserRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        POSTGRES.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE user_table RESTART IDENTITY");
+    }
+
+    @Test
+    void insertIfAbsent_Should_ReturnEmpty_When_UsernameTakenAfterCheck() throws Exception {
+        CountDownLatch inserted = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> rival = executor.submit(() -> inTransaction(() -> {
+                jdbcTemplate.update("INSERT INTO user_table (username, password, status) VALUES (?, ?, ?)",
+                        USERNAME, PASSWORD_HASH, STATUS.getCode());
+                inserted.countDown();
+                jdbcTemplate.execute("SELECT pg_sleep(0.5)");
+            }));
+            inserted.await();
+
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                Assertions.assertTrue(repository.insertIfAbsent(user(USERNAME)).isEmpty());
+                status.setRollbackOnly();
+            });
+            rival.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    protected UserRepository repository() {
+        return repository;
+    }
+
+    @Override
+    protected void inTransaction(Runnable action) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> action.run());
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
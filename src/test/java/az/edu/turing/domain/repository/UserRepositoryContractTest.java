@@ -0,0 +1,350 @@
+package az.edu.turing.domain.repository;
+
+import az.edu.turing.domain.entity.UserEntity;
+import az.edu.turing.model.dto.UserDto;
+import az.edu.turing.model.enums.UserStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static az.edu.turing.constants.TestConstants.*;
+
+/**
+ * Behaviour every {@link UserRepository} must share; each implementation runs it through a subclass that starts
+ * from an empty store.
+ */
+abstract class UserRepositoryContractTest {
+
+    protected abstract UserRepository repository();
+
+    /**
+     * Runs calls the port requires a transaction for; stores without transactions just run them.
+     */
+    protected void inTransaction(Runnable action) {
+        action.run();
+    }
+
+    @Test
+    void insertIfAbsent_Should_AssignId_When_UsernameFree() {
+        UserEntity stored = insert(USERNAME);
+
+        Assertions.assertNotNull(stored.getId());
+        Assertions.assertEquals(USERNAME, stored.getUsername());
+        Assertions.assertEquals(PASSWORD_HASH, stored.getPassword());
+        Assertions.assertEquals(UserStatus.ACTIVATE, stored.getStatus());
+        Assertions.assertEquals(Optional.of(stored), repository().findByUsername(USERNAME));
+    }
+
+    @Test
+    void insertIfAbsent_Should_ReturnEmpty_When_UsernameTaken() {
+        insert(USERNAME);
+
+        Assertions.assertTrue(repository().insertIfAbsent(user(USERNAME)).isEmpty());
+    }
+
+    @Test
+    void findByUsername_Should_ReturnEmpty_When_Missing() {
+        Assertions.assertTrue(repository().findByUsername(USERNAME).isEmpty());
+    }
+
+    @Test
+    void insertAllIfAbsent_Should_SkipTakenUsernames() {
+        insert(USERNAME);
+
+        List<UserEntity> inserted = repository().insertAllIfAbsent(List.of(user(USERNAME), user(USERNAME_2)));
+
+        Assertions.assertEquals(List.of(repository().findByUsername(USERNAME_2).orElseThrow()), inserted);
+    }
+
+    @Test
+    void findAllByIds_Should_SkipUnknownIds() {
+        UserEntity first = insert(USERNAME);
+        UserEntity second = insert(USERNAME_2);
+        insert(USERNAME_3);
+
+        List<UserDto> users = repository().findAllByIds(List.of(second.getId(), Long.MAX_VALUE, first.getId()));
+
+        Assertions.assertEquals(Set.of(view(first), view(second)), Set.copyOf(users));
+        Assertions.assertTrue(repository().findAllByIds(List.of()).isEmpty());
+    }
+
+    @Test
+    void findAllByUsernames_Should_SkipUnknownUsernames() {
+        UserEntity first = insert(USERNAME);
+        insert(USERNAME_2);
+
+        Assertions.assertEquals(List.of(view(first)),
+                repository().findAllByUsernames(List.of(USERNAME, UPDATED_USERNAME)));
+        Assertions.assertTrue(repository().findAllByUsernames(List.of()).isEmpty());
+    }
+
+    @Test
+    void findPage_Should_ReturnUsersAfterCursorInIdOrder() {
+        UserEntity first = insert(USERNAME);
+        UserEntity second = insert(USERNAME_2);
+        UserEntity third = insert(USERNAME_3);
+
+        Assertions.assertEquals(List.of(view(first), view(second)), repository().findPage(0, 2));
+        Assertions.assertEquals(List.of(view(third)), repository().findPage(second.getId(), 2));
+    }
+
+    @Test
+    void search_Should_MatchUsernamePrefix() {
+        UserEntity root = insert(USERNAME);
+        UserEntity root2 = insert(USERNAME_2);
+        insert(UPDATED_USERNAME);
+
+        Assertions.assertEquals(List.of(view(root), view(root2)),
+                repository().search(new UserSearchCriteria("root", null, null), 0, 10));
+    }
+
+    @Test
+    void search_Should_MatchUsernameSubstring() {
+        insert(USERNAME);
+        UserEntity root2 = insert(USERNAME_2);
+        UserEntity root3 = insert(USERNAME_3);
+
+        Assertions.assertEquals(List.of(view(root2), view(root3)),
+                repository().search(new UserSearchCriteria(null, "ot_", null), 0, 10));
+    }
+
+    @Test
+    void search_Should_TreatLikeWildcardsLiterally() {
+        insert("a%b@gmail.com");
+        insert("axb@gmail.com");
+
+        List<UserDto> found = repository().search(new UserSearchCriteria("a%", null, null), 0, 10);
+
+        Assertions.assertEquals(List.of("a%b@gmail.com"), found.stream().map(UserDto::username).toList());
+    }
+
+    @Test
+    void search_Should_CombineFiltersAndPageAfterCursor() {
+        UserEntity root = insert(USERNAME);
+        UserEntity root2 = insert(USERNAME_2);
+        UserEntity root3 = insert(USERNAME_3);
+        insert(UPDATED_USERNAME);
+        repository().updateStatus(root2.getId(), UserStatus.INACTIVATE);
+        UserSearchCriteria criteria = new UserSearchCriteria("root", "@gmail", UserStatus.ACTIVATE);
+
+        Assertions.assertEquals(List.of(view(root)), repository().search(criteria, 0, 1));
+        Assertions.assertEquals(List.of(view(root3)), repository().search(criteria, root.getId(), 10));
+    }
+
+    @Test
+    void forEach_Should_VisitEveryUserInIdOrder() {
+        UserEntity first = insert(USERNAME);
+        UserEntity second = insert(USERNAME_2);
+        List<UserDto> visited = new ArrayList<>();
+
+        inTransaction(() -> repository().forEach(visited::add));
+
+        Assertions.assertEquals(List.of(view(first), view(second)), visited);
+    }
+
+    @Test
+    void forEachUsername_Should_VisitEveryUsername() {
+        insert(USERNAME);
+        insert(USERNAME_2);
+        List<String> visited = new ArrayList<>();
+
+        long count = repository().forEachUsername(visited::add);
+
+        Assertions.assertEquals(2, count);
+        Assertions.assertEquals(Set.of(USERNAME, USERNAME_2), Set.copyOf(visited));
+    }
+
+    @Test
+    void update_Should_ChangeUsernameAndPassword() {
+        UserEntity stored = insert(USERNAME);
+
+        UserEntity updated = repository().update(stored.getId(), UPDATED_USERNAME, UPDATED_PASSWORD_HASH)
+                .orElseThrow();
+
+        Assertions.assertEquals(UPDATED_USERNAME, updated.getUsername());
+        Assertions.assertEquals(UPDATED_PASSWORD_HASH, updated.getPassword());
+        Assertions.assertEquals(UserStatus.ACTIVATE, updated.getStatus());
+        Assertions.assertEquals(Optional.of(updated), repository().findByUsername(UPDATED_USERNAME));
+        Assertions.assertTrue(repository().findByUsername(USERNAME).isEmpty());
+    }
+
+    @Test
+    void update_Should_ReturnEmpty_When_Missing() {
+        Assertions.assertTrue(repository().update(Long.MAX_VALUE, UPDATED_USERNAME, UPDATED_PASSWORD_HASH).isEmpty());
+    }
+
+    @Test
+    void update_Should_Throw_When_UsernameBelongsToAnotherUser() {
+        insert(USERNAME);
+        UserEntity other = insert(USERNAME_2);
+
+        Assertions.assertThrows(DuplicateKeyException.class,
+                () -> repository().update(other.getId(), USERNAME, UPDATED_PASSWORD_HASH));
+    }
+
+    @Test
+    void updateStatus_Should_ReturnUpdatedUser() {
+        UserEntity stored = insert(USERNAME);
+
+        UserStatusUpdate updated = repository().updateStatus(stored.getId(), UserStatus.INACTIVATE).orElseThrow();
+
+        Assertions.assertTrue(updated.changed());
+        Assertions.assertEquals(UserStatus.INACTIVATE, updated.user().getStatus());
+        Assertions.assertEquals(UserStatus.INACTIVATE, repository().findByUsername(USERNAME).orElseThrow().getStatus());
+    }
+
+    @Test
+    void update_Should_BumpVersion() {
+        UserEntity stored = insert(USERNAME);
+
+        UserEntity updated = repository().update(stored.getId(), UPDATED_USERNAME, UPDATED_PASSWORD_HASH)
+                .orElseThrow();
+
+        Assertions.assertEquals(0, stored.getVersion());
+        Assertions.assertEquals(1, updated.getVersion());
+        Assertions.assertFalse(updated.getUpdatedAt().isBefore(stored.getUpdatedAt()));
+    }
+
+    @Test
+    void updateStatus_Should_KeepVersion_When_StatusUnchanged() {
+        UserEntity stored = insert(USERNAME);
+
+        UserStatusUpdate unchanged = repository().updateStatus(stored.getId(), UserStatus.ACTIVATE).orElseThrow();
+        UserStatusUpdate changed = repository().updateStatus(stored.getId(), UserStatus.INACTIVATE).orElseThrow();
+
+        Assertions.assertFalse(unchanged.changed());
+        Assertions.assertEquals(stored.getVersion(), unchanged.user().getVersion());
+        Assertions.assertEquals(stored.getUpdatedAt(), unchanged.user().getUpdatedAt());
+        Assertions.assertTrue(changed.changed());
+        Assertions.assertEquals(stored.getVersion() + 1, changed.user().getVersion());
+    }
+
+    @Test
+    void update_Should_Apply_When_VersionMatches() {
+        UserEntity stored = insert(USERNAME);
+
+        UserEntity updated = repository().update(stored.getId(), UPDATED_USERNAME, UPDATED_PASSWORD_HASH,
+                stored.getVersion()).orElseThrow();
+
+        Assertions.assertEquals(UPDATED_USERNAME, updated.getUsername());
+        Assertions.assertEquals(stored.getVersion() + 1, updated.getVersion());
+    }
+
+    @Test
+    void update_Should_Throw_When_VersionIsStale() {
+        UserEntity stored = insert(USERNAME);
+        repository().updateStatus(stored.getId(), UserStatus.INACTIVATE, stored.getVersion());
+
+        Assertions.assertThrows(OptimisticLockingFailureException.class, () -> repository()
+                .update(stored.getId(), UPDATED_USERNAME, UPDATED_PASSWORD_HASH, stored.getVersion()));
+        Assertions.assertEquals(USERNAME, repository().findByUsername(USERNAME).orElseThrow().getUsername());
+    }
+
+    @Test
+    void updateStatus_Should_ReturnEmpty_When_MissingWithExpectedVersion() {
+        Assertions.assertTrue(repository().updateStatus(Long.MAX_VALUE, UserStatus.INACTIVATE, VERSION).isEmpty());
+    }
+
+    @Test
+    void tableVersion_Should_Advance_When_AnyUserChanges() {
+        UserTableVersion initial = repository().tableVersion();
+        UserEntity stored = insert(USERNAME);
+        UserTableVersion afterInsert = repository().tableVersion();
+        repository().updateStatusByIds(List.of(stored.getId()), UserStatus.INACTIVATE);
+
+        Assertions.assertTrue(afterInsert.version() > initial.version());
+        Assertions.assertTrue(repository().tableVersion().version() > afterInsert.version());
+        Assertions.assertEquals(repository().tableVersion(), repository().tableVersion());
+    }
+
+    @Test
+    void tableVersion_Should_Stay_When_WriteChangesNothing() {
+        UserEntity stored = insert(USERNAME);
+        UserTableVersion initial = repository().tableVersion();
+
+        repository().insertIfAbsent(user(USERNAME));
+        repository().updateStatus(stored.getId(), UserStatus.ACTIVATE);
+        repository().updateStatusByIds(List.of(Long.MAX_VALUE), UserStatus.INACTIVATE);
+
+        Assertions.assertEquals(initial, repository().tableVersion());
+    }
+
+    @Test
+    void updateStatus_Should_ReturnEmpty_When_Missing() {
+        Assertions.assertTrue(repository().updateStatus(Long.MAX_VALUE, UserStatus.INACTIVATE).isEmpty());
+    }
+
+    @Test
+    void updateStatusByIds_Should_ReturnOnlyChangedUsers() {
+        UserEntity active = insert(USERNAME);
+        UserEntity inactive = insert(USERNAME_2);
+        repository().updateStatus(inactive.getId(), UserStatus.INACTIVATE);
+
+        List<UserDto> changed = repository().updateStatusByIds(
+                List.of(active.getId(), inactive.getId(), Long.MAX_VALUE), UserStatus.INACTIVATE);
+
+        UserEntity stored = repository().findByUsername(USERNAME).orElseThrow();
+        Assertions.assertEquals(UserStatus.INACTIVATE, stored.getStatus());
+        Assertions.assertEquals(List.of(view(stored)), changed);
+        Assertions.assertTrue(stored.getVersion() > active.getVersion());
+    }
+
+    @Test
+    void updateStatusByStatus_Should_MoveAtMostLimitUsers() {
+        UserEntity first = insert(USERNAME);
+        UserEntity second = insert(USERNAME_2);
+        UserEntity third = insert(USERNAME_3);
+        repository().updateStatus(second.getId(), UserStatus.INACTIVATE);
+
+        Assertions.assertEquals(List.of(first.getId()),
+                ids(repository().updateStatusByStatus(UserStatus.ACTIVATE, UserStatus.DELETED, 1)));
+        Assertions.assertEquals(List.of(third.getId()),
+                ids(repository().updateStatusByStatus(UserStatus.ACTIVATE, UserStatus.DELETED, 1)));
+        Assertions.assertEquals(List.of(),
+                repository().updateStatusByStatus(UserStatus.ACTIVATE, UserStatus.DELETED, 1));
+        Assertions.assertEquals(UserStatus.INACTIVATE,
+                repository().findByUsername(USERNAME_2).orElseThrow().getStatus());
+    }
+
+    @Test
+    void deleteById_Should_MarkUserDeleted() {
+        UserEntity stored = insert(USERNAME);
+
+        UserEntity deleted = repository().deleteById(stored.getId()).orElseThrow();
+        Assertions.assertEquals(UserStatus.DELETED, deleted.getStatus());
+        Assertions.assertTrue(deleted.getVersion() > stored.getVersion());
+        Assertions.assertEquals(UserStatus.DELETED, repository().findByUsername(USERNAME).orElseThrow().getStatus());
+    }
+
+    @Test
+    void deleteById_Should_ReturnEmpty_When_Missing() {
+        Assertions.assertTrue(repository().deleteById(Long.MAX_VALUE).isEmpty());
+    }
+
+    protected UserEntity insert(String username) {
+        return repository().insertIfAbsent(user(username)).orElseThrow();
+    }
+
+    private static List<Long> ids(List<UserDto> users) {
+        return users.stream().map(UserDto::id).toList();
+    }
+
+    private static UserDto view(UserEntity userEntity) {
+        return new UserDto(userEntity.getId(), userEntity.getUsername(), userEntity.getStatus(),
+                userEntity.getVersion(), userEntity.getUpdatedAt());
+    }
+
+    protected static UserEntity user(String username) {
+        return UserEntity.builder()
+                .username(username)
+                .password(PASSWORD_HASH)
+                .status(UserStatus.ACTIVATE)
+                .build();
+    }
+}
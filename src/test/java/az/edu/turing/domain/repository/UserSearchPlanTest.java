@@ -0,0 +1,65 @@
+package az.edu.turing.domain.repository;
+
+import az.edu.turing.model.enums.UserStatus;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+
+/**
+ * Explains the statements {@link JdbcTemplateUserRepository#search} issues against a migrated, analyzed table large
+ * enough that a sequential scan is never the cheapest plan for a selective filter.
+ */
+class UserSearchPlanTest {
+
+    private static final int SEEDED_USERS = 100_000;
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void startDatabase() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        Flyway.configure().dataSource(postgres.getPostgresDatabase()).load().migrate();
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+        jdbcTemplate.update("""
+                INSERT INTO user_table (username, password, status)
+                SELECT 'user' || g || '@example.com', 'Root123!', CASE WHEN g % 1000 = 0 THEN ? ELSE ? END
+                FROM generate_series(1, ?) AS g
+                """, UserStatus.DELETED.getCode(), UserStatus.ACTIVATE.getCode(), SEEDED_USERS);
+        jdbcTemplate.execute("ANALYZE user_table");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void prefixSearch_Should_UsePrefixIndex() {
+        assertUsesIndex(new UserSearchCriteria("user4242", null, null), "ix_user_table_username_prefix");
+    }
+
+    @Test
+    void substringSearch_Should_UseTrigramIndex() {
+        assertUsesIndex(new UserSearchCriteria(null, "r4242@", null), "ix_user_table_username_trgm");
+    }
+
+    @Test
+    void statusSearch_Should_UseStatusIndex() {
+        assertUsesIndex(new UserSearchCriteria(null, null, UserStatus.DELETED), "ix_user_table_status_id");
+    }
+
+    private static void assertUsesIndex(UserSearchCriteria criteria, String index) {
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN " + JdbcTemplateUserRepository.searchQuery(criteria), String.class,
+                JdbcTemplateUserRepository.searchArguments(criteria, 0, 51)));
+        Assertions.assertTrue(plan.contains(index), () -> "Expected " + index + " in plan:\n" + plan);
+        Assertions.assertFalse(plan.contains("Seq Scan"), () -> "Unexpected sequential scan:\n" + plan);
+    }
+}
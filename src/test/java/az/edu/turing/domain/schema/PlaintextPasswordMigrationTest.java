@@ -0,0 +1,55 @@
+package az.edu.turing.domain.schema;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static az.edu.turing.constants.TestConstants.*;
+
+class PlaintextPasswordMigrationTest {
+
+    private final PasswordEncoder passwordEncoder = new DelegatingPasswordEncoder("bcrypt",
+            Map.of("bcrypt", new BCryptPasswordEncoder(4)));
+
+    private EmbeddedPostgres postgres;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void migrate_Should_HashPlaintextPasswords_And_KeepHashedOnes() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+        flyway(postgres, "7").migrate();
+        String hashed = passwordEncoder.encode(PASSWORD);
+        jdbcTemplate.update("INSERT INTO user_table (username, password, status) VALUES (?, ?, 1), (?, ?, 1)",
+                USERNAME, PASSWORD, USERNAME_2, hashed);
+
+        flyway(postgres, "latest").migrate();
+
+        String migrated = password(jdbcTemplate, USERNAME);
+        Assertions.assertTrue(migrated.startsWith("{bcrypt}$2a$10$"));
+        Assertions.assertTrue(passwordEncoder.matches(PASSWORD, migrated));
+        Assertions.assertEquals(hashed, password(jdbcTemplate, USERNAME_2));
+    }
+
+    private static Flyway flyway(EmbeddedPostgres postgres, String target) {
+        return Flyway.configure().dataSource(postgres.getPostgresDatabase()).target(target).load();
+    }
+
+    private static String password(JdbcTemplate jdbcTemplate, String username) {
+        return jdbcTemplate.queryForObject("SELECT password FROM user_table WHERE username = ?", String.class,
+                username);
+    }
+}
@@ -0,0 +1,43 @@
+package az.edu.turing.domain.schema;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class UserTableIndexCheckTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private UserTableIndexCheck indexCheck;
+
+    @Test
+    void verify_Should_Pass_When_AllIndexesPresent() {
+        given(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+                .willReturn(List.of("user_table_pkey", "ux_user_table_username", "ix_user_table_username_live",
+                        "ix_user_table_username_prefix", "ix_user_table_username_trgm", "ix_user_table_status_id"));
+
+        Assertions.assertDoesNotThrow(indexCheck::verify);
+    }
+
+    @Test
+    void verify_Should_Fail_When_IndexMissing() {
+        given(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+                .willReturn(List.of("user_table_pkey", "ux_user_table_username"));
+
+        IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class, indexCheck::verify);
+        Assertions.assertTrue(exception.getMessage().contains("ix_user_table_username_live"));
+    }
+}
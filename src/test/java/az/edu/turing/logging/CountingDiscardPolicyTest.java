@@ -0,0 +1,28 @@
+package az.edu.turing.logging;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.async.EventRoute;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class CountingDiscardPolicyTest {
+
+    private final CountingDiscardPolicy policy = new CountingDiscardPolicy();
+
+    @Test
+    void getRoute_Should_DropAndCount_When_InfoOrBelow() {
+        long before = CountingDiscardPolicy.droppedEvents();
+
+        Assertions.assertEquals(EventRoute.DISCARD, policy.getRoute(-1, Level.INFO));
+        Assertions.assertEquals(EventRoute.DISCARD, policy.getRoute(-1, Level.DEBUG));
+        Assertions.assertEquals(before + 2, CountingDiscardPolicy.droppedEvents());
+    }
+
+    @Test
+    void getRoute_Should_KeepWarnings() {
+        long before = CountingDiscardPolicy.droppedEvents();
+
+        Assertions.assertNotEquals(EventRoute.DISCARD, policy.getRoute(-1, Level.WARN));
+        Assertions.assertEquals(before, CountingDiscardPolicy.droppedEvents());
+    }
+}
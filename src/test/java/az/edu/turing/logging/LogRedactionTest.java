@@ -0,0 +1,19 @@
+package az.edu.turing.logging;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static az.edu.turing.constants.TestConstants.USERNAME;
+
+class LogRedactionTest {
+
+    @Test
+    void username_Should_KeepFirstCharacterAndDomain() {
+        Assertions.assertEquals("r***@gmail.com", LogRedaction.username(USERNAME));
+    }
+
+    @Test
+    void username_Should_MaskWholeValue_When_NotAnEmail() {
+        Assertions.assertEquals("r***", LogRedaction.username("root"));
+    }
+}
@@ -0,0 +1,122 @@
+package az.edu.turing.logging;
+
+import az.edu.turing.config.properties.SlowQueryLogProperties;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.apache.logging.log4j.core.config.Property;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static az.edu.turing.constants.TestConstants.USERNAME;
+
+class SlowQueryLogListenerTest {
+
+    private static final String QUERY = "SELECT * FROM user_table\n WHERE username = ?";
+
+    private static final String LOGGER = SlowQueryLogListener.class.getName();
+
+    private final LoggerContext context = (LoggerContext) LogManager.getContext(false);
+    private final List<String> messages = new CopyOnWriteArrayList<>();
+
+    /**
+     * Captures through a synchronous logger config, so assertions do not race the async root logger.
+     */
+    @BeforeEach
+    void setUp() {
+        AbstractAppender appender = new AbstractAppender("capture", null, null, true, Property.EMPTY_ARRAY) {
+            @Override
+            public void append(LogEvent event) {
+                messages.add(event.getMessage().getFormattedMessage());
+            }
+        };
+        appender.start();
+        LoggerConfig loggerConfig = new LoggerConfig(LOGGER, Level.INFO, false);
+        loggerConfig.addAppender(appender, null, null);
+        context.getConfiguration().addLogger(LOGGER, loggerConfig);
+        context.updateLoggers();
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.getConfiguration().removeLogger(LOGGER);
+        context.updateLoggers();
+    }
+
+    @Test
+    void afterQuery_Should_LogRedactedStatement_When_OverThreshold() throws Exception {
+        SlowQueryLogListener listener = new SlowQueryLogListener(properties(0, true));
+
+        listener.afterQuery(execution(250), List.of(query()));
+
+        Assertions.assertEquals(1, messages.size());
+        String message = messages.getFirst();
+        Assertions.assertTrue(message.contains("250ms"));
+        Assertions.assertTrue(message.contains("query=SELECT * FROM user_table WHERE username = ?"));
+        Assertions.assertTrue(message.contains("params=[String]"));
+        Assertions.assertFalse(message.contains(USERNAME));
+    }
+
+    @Test
+    void afterQuery_Should_LogParameterValues_When_RedactionDisabled() throws Exception {
+        SlowQueryLogListener listener = new SlowQueryLogListener(properties(0, false));
+
+        listener.afterQuery(execution(250), List.of(query()));
+
+        Assertions.assertTrue(messages.getFirst().contains("params=[" + USERNAME + "]"));
+    }
+
+    @Test
+    void afterQuery_Should_Skip_When_FastAndNotSampled() throws Exception {
+        SlowQueryLogListener listener = new SlowQueryLogListener(properties(0, true));
+
+        listener.afterQuery(execution(5), List.of(query()));
+
+        Assertions.assertTrue(messages.isEmpty());
+    }
+
+    @Test
+    void afterQuery_Should_LogEveryStatement_When_SampleRateIsOne() throws Exception {
+        SlowQueryLogListener listener = new SlowQueryLogListener(properties(1, true));
+
+        listener.afterQuery(execution(5), List.of(query()));
+
+        Assertions.assertEquals(1, messages.size());
+        Assertions.assertTrue(messages.getFirst().startsWith("Sampled query"));
+    }
+
+    private static SlowQueryLogProperties properties(int sampleRate, boolean redactParameters) {
+        SlowQueryLogProperties properties = new SlowQueryLogProperties();
+        properties.setThreshold(Duration.ofMillis(200));
+        properties.setSampleRate(sampleRate);
+        properties.setRedactParameters(redactParameters);
+        return properties;
+    }
+
+    private static ExecutionInfo execution(long elapsedMillis) {
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setElapsedTime(elapsedMillis);
+        executionInfo.setSuccess(true);
+        return executionInfo;
+    }
+
+    private static QueryInfo query() throws NoSuchMethodException {
+        QueryInfo queryInfo = new QueryInfo(QUERY);
+        queryInfo.getParametersList().add(List.of(new ParameterSetOperation(
+                PreparedStatement.class.getMethod("setString", int.class, String.class), new Object[]{1, USERNAME})));
+        return queryInfo;
+    }
+}
@@ -0,0 +1,101 @@
+package az.edu.turing.outbox;
+
+import az.edu.turing.model.enums.UserChangeType;
+import az.edu.turing.model.enums.UserStatus;
+import az.edu.turing.model.event.UserChangeEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static az.edu.turing.constants.TestConstants.*;
+
+class AfterCommitUserChangeOutboxTest {
+
+    private final List<UserChangeEvent> published = new ArrayList<>();
+    private final AfterCommitUserChangeOutbox outbox = new AfterCommitUserChangeOutbox(published::addAll);
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        outbox.shutdown();
+    }
+
+    @Test
+    void append_Should_PublishAfterCommitInIdOrder() throws InterruptedException {
+        outbox.appendCreated(List.of(USER_ENTITY_1, USER_ENTITY_2));
+        outbox.append(UserChangeType.DELETED, ID_1, null, UserStatus.DELETED);
+
+        Assertions.assertTrue(published.isEmpty());
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        outbox.shutdown();
+
+        Assertions.assertEquals(List.of(1L, 2L, 3L), published.stream().map(UserChangeEvent::id).toList());
+        Assertions.assertEquals(List.of(ID_1, ID_2, ID_1), published.stream().map(UserChangeEvent::userId).toList());
+        Assertions.assertEquals(USERNAME_2, published.get(1).username());
+        Assertions.assertEquals(UserChangeType.DELETED, published.get(2).type());
+    }
+
+    @Test
+    void append_Should_DropEvents_When_TransactionRollsBack() throws InterruptedException {
+        outbox.appendAll(UserChangeType.STATUS_CHANGED, List.of(ID_1, ID_2), UserStatus.INACTIVATE);
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        outbox.shutdown();
+
+        Assertions.assertTrue(published.isEmpty());
+    }
+
+    @Test
+    void append_Should_Throw_When_NoTransactionIsActive() {
+        TransactionSynchronizationManager.clearSynchronization();
+
+        Assertions.assertThrows(IllegalTransactionStateException.class,
+                () -> outbox.append(UserChangeType.DELETED, ID_1, null, UserStatus.DELETED));
+    }
+
+    @Test
+    void append_Should_ReturnFromCommit_When_SinkBlocks() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        AfterCommitUserChangeOutbox blockedOutbox = new AfterCommitUserChangeOutbox(events -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            published.addAll(events);
+        });
+        try {
+            blockedOutbox.append(UserChangeType.DELETED, ID_1, null, UserStatus.DELETED);
+            complete(TransactionSynchronization.STATUS_COMMITTED);
+
+            release.countDown();
+        } finally {
+            blockedOutbox.shutdown();
+        }
+        Assertions.assertEquals(List.of(ID_1), published.stream().map(UserChangeEvent::userId).toList());
+    }
+
+    private void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
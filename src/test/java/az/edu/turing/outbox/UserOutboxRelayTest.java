@@ -0,0 +1,146 @@
+package az.edu.turing.outbox;
+
+import az.edu.turing.config.properties.OutboxProperties;
+import az.edu.turing.domain.entity.UserEntity;
+import az.edu.turing.domain.repository.UserOutboxRepository;
+import az.edu.turing.model.enums.UserChangeType;
+import az.edu.turing.model.enums.UserStatus;
+import az.edu.turing.model.event.UserChangeEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+class UserOutboxRelayTest {
+
+    private static EmbeddedPostgres postgres;
+    private static DataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+
+    private final List<UserChangeEvent> published = new ArrayList<>();
+    private final OutboxProperties properties = new OutboxProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TransactionTemplate transactionTemplate;
+    private UserOutboxRepository outboxRepository;
+    private boolean sinkFails;
+    private UserOutboxRelay relay;
+
+    @BeforeAll
+    static void startDatabase() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        dataSource = postgres.getPostgresDatabase();
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE user_outbox RESTART IDENTITY");
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        outboxRepository = new UserOutboxRepository(jdbcTemplate);
+        UserChangeSink sink = events -> {
+            if (sinkFails) {
+                throw new IllegalStateException("sink down");
+            }
+            published.addAll(events);
+        };
+        relay = new UserOutboxRelay(outboxRepository, sink, transactionTemplate, properties, meterRegistry);
+    }
+
+    @Test
+    void drain_Should_PublishInIdOrder_And_DeleteRelayedEvents() {
+        properties.setBatchSize(2);
+        append(UserChangeType.CREATED, 1, "first@example.com", UserStatus.ACTIVATE);
+        append(UserChangeType.CREATED, 2, "second@example.com", UserStatus.ACTIVATE);
+        append(UserChangeType.UPDATED, 1, "renamed@example.com", UserStatus.ACTIVATE);
+        transactionTemplate.executeWithoutResult(status ->
+                outboxRepository.appendAll(UserChangeType.STATUS_CHANGED, List.of(2L, 1L), UserStatus.INACTIVATE));
+
+        relay.drain();
+
+        Assertions.assertEquals(List.of(1L, 2L, 3L, 4L, 5L), published.stream().map(UserChangeEvent::id).toList());
+        Assertions.assertEquals(List.of(1L, 2L, 1L, 2L, 1L), published.stream().map(UserChangeEvent::userId).toList());
+        Assertions.assertEquals("renamed@example.com", published.get(2).username());
+        Assertions.assertNull(published.get(3).username());
+        Assertions.assertEquals(UserStatus.INACTIVATE, published.get(4).status());
+        Assertions.assertEquals(0, pending());
+        Assertions.assertEquals(5, meterRegistry.get("users.outbox.published").counter().count());
+    }
+
+    @Test
+    void drain_Should_PublishCreatedEventsWithUsernames() {
+        UserEntity first = UserEntity.builder().id(4L).username("first@example.com").status(UserStatus.ACTIVATE).build();
+        UserEntity second = UserEntity.builder().id(3L).username("second@example.com").status(UserStatus.INACTIVATE)
+                .build();
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.appendCreated(List.of(first, second)));
+
+        relay.drain();
+
+        Assertions.assertEquals(List.of(4L, 3L), published.stream().map(UserChangeEvent::userId).toList());
+        Assertions.assertEquals(List.of(UserChangeType.CREATED, UserChangeType.CREATED),
+                published.stream().map(UserChangeEvent::type).toList());
+        Assertions.assertEquals(List.of("first@example.com", "second@example.com"),
+                published.stream().map(UserChangeEvent::username).toList());
+        Assertions.assertEquals(UserStatus.INACTIVATE, published.get(1).status());
+    }
+
+    @Test
+    void drain_Should_RedeliverBatch_When_SinkFails() {
+        append(UserChangeType.DELETED, 7, null, UserStatus.DELETED);
+        sinkFails = true;
+
+        relay.drain();
+
+        Assertions.assertTrue(published.isEmpty());
+        Assertions.assertEquals(1, pending());
+
+        sinkFails = false;
+        relay.drain();
+
+        Assertions.assertEquals(1, published.size());
+        Assertions.assertEquals(UserChangeType.DELETED, published.getFirst().type());
+        Assertions.assertEquals(0, pending());
+    }
+
+    @Test
+    void relayBatch_Should_SkipBatch_When_AnotherRelayHoldsTheLock() throws SQLException {
+        append(UserChangeType.CREATED, 1, "first@example.com", UserStatus.ACTIVATE);
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("SELECT pg_advisory_lock(" + UserOutboxRepository.RELAY_LOCK_KEY + ")");
+
+            Assertions.assertEquals(0, relay.relayBatch());
+            Assertions.assertEquals(1, pending());
+        }
+        Assertions.assertEquals(1, relay.relayBatch());
+    }
+
+    private void append(UserChangeType type, long userId, String username, UserStatus status) {
+        transactionTemplate.executeWithoutResult(transaction ->
+                outboxRepository.append(type, userId, username, status));
+    }
+
+    private long pending() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM user_outbox", Long.class);
+    }
+}
@@ -0,0 +1,98 @@
+package az.edu.turing.security;
+
+import az.edu.turing.config.properties.PasswordHashingProperties;
+import az.edu.turing.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static az.edu.turing.constants.TestConstants.*;
+
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHasher passwordHasher;
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    void hash_Should_ProduceVerifiableHash() {
+        passwordHasher = new PasswordHasher(bcrypt(), properties(2, 10), meterRegistry);
+
+        String hash = passwordHasher.hash(PASSWORD);
+
+        Assertions.assertTrue(hash.startsWith("{bcrypt}"));
+        Assertions.assertTrue(passwordHasher.verify(PASSWORD, hash));
+        Assertions.assertFalse(passwordHasher.verify(UPDATED_PASSWORD, hash));
+        Assertions.assertFalse(passwordHasher.verify(PASSWORD, PASSWORD));
+        Assertions.assertEquals(3, meterRegistry.get("users.password.verify").timer().count());
+    }
+
+    @Test
+    void hashAll_Should_KeepInputOrder() {
+        passwordHasher = new PasswordHasher(bcrypt(), properties(1, 1), meterRegistry);
+
+        List<String> hashes = passwordHasher.hashAll(List.of(PASSWORD, UPDATED_PASSWORD, PASSWORD));
+
+        Assertions.assertEquals(3, hashes.size());
+        Assertions.assertTrue(passwordHasher.verify(UPDATED_PASSWORD, hashes.get(1)));
+    }
+
+    @Test
+    void hash_Should_ThrowServiceUnavailableException_When_QueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blockingEncoder = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                if (PASSWORD.contentEquals(rawPassword)) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        passwordHasher = new PasswordHasher(blockingEncoder, properties(1, 1), meterRegistry);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> running = callers.submit(() -> passwordHasher.hash(PASSWORD));
+            Future<String> queued = callers.submit(() -> passwordHasher.hash(PASSWORD));
+            Thread.sleep(200);
+
+            Assertions.assertThrows(ServiceUnavailableException.class, () -> passwordHasher.hash(PASSWORD));
+
+            release.countDown();
+            Assertions.assertNotNull(running.get());
+            Assertions.assertNotNull(queued.get());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private PasswordEncoder bcrypt() {
+        return new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", new BCryptPasswordEncoder(4)));
+    }
+
+    private PasswordHashingProperties properties(int threads, int queueCapacity) {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.getExecutor().setThreads(threads);
+        properties.getExecutor().setQueueCapacity(queueCapacity);
+        return properties;
+    }
+}
@@ -0,0 +1,164 @@
+package az.edu.turing.service;
+
+import az.edu.turing.config.properties.UserLookupProperties;
+import az.edu.turing.domain.repository.UserRepository;
+import az.edu.turing.exception.ServiceUnavailableException;
+import az.edu.turing.model.dto.UserDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static az.edu.turing.constants.TestConstants.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class UserBatchLoaderTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private UserIdBatchLoader loader;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        if (loader != null) {
+            loader.shutdown();
+        }
+    }
+
+    @Test
+    void loadAll_Should_MergeConcurrentLookupsIntoOneQuery() throws Exception {
+        given(userRepository.findAllByIds(anyList())).willReturn(List.of(USER_DTO, USER_DTO_2));
+        loader = loader(true, Duration.ofMillis(200), 500);
+        CountDownLatch start = new CountDownLatch(1);
+
+        Future<Map<Long, UserDto>> first = executor.submit(() -> {
+            start.await();
+            return loader.loadAll(List.of(ID_1));
+        });
+        Future<Map<Long, UserDto>> second = executor.submit(() -> {
+            start.await();
+            return loader.loadAll(List.of(ID_2, ID_3));
+        });
+        start.countDown();
+
+        Assertions.assertEquals(Map.of(ID_1, USER_DTO), first.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(Map.of(ID_2, USER_DTO_2), second.get(5, TimeUnit.SECONDS));
+        then(userRepository).should(times(1)).findAllByIds(anyList());
+        Assertions.assertEquals(3, meterRegistry.get("users.lookup.batch.size").summary().totalAmount());
+    }
+
+    @Test
+    void load_Should_MergeConcurrentUsernameLookupsIntoOneQuery() throws Exception {
+        given(userRepository.findAllByUsernames(anyList())).willReturn(List.of(USER_DTO, USER_DTO_2));
+        UserLookupProperties properties = new UserLookupProperties();
+        properties.getBatch().setWindow(Duration.ofMillis(200));
+        UsernameBatchLoader usernameLoader = new UsernameBatchLoader(userRepository, properties, transactionManager,
+                meterRegistry);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            Future<Optional<UserDto>> first = executor.submit(() -> {
+                start.await();
+                return usernameLoader.load(USERNAME);
+            });
+            Future<Optional<UserDto>> second = executor.submit(() -> {
+                start.await();
+                return usernameLoader.load(USERNAME_3);
+            });
+            start.countDown();
+
+            Assertions.assertEquals(Optional.of(USER_DTO), first.get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(Optional.empty(), second.get(5, TimeUnit.SECONDS));
+        } finally {
+            usernameLoader.shutdown();
+        }
+        then(userRepository).should(times(1)).findAllByUsernames(anyList());
+        Assertions.assertEquals(2, meterRegistry.get("users.lookup.batch.size").tag("key", "username")
+                .summary().totalAmount());
+    }
+
+    @Test
+    void loadAll_Should_QueryInReadOnlyTransaction() {
+        given(userRepository.findAllByIds(anyList())).willReturn(List.of(USER_DTO));
+        loader = loader(true, Duration.ofNanos(200_000), 500);
+
+        loader.loadAll(List.of(ID_1));
+
+        then(transactionManager).should(times(1)).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
+    @Test
+    void loadAll_Should_SendBatch_When_ItReachesMaxSize() {
+        given(userRepository.findAllByIds(anyList())).willReturn(List.of(USER_DTO, USER_DTO_2));
+        loader = loader(true, Duration.ofMinutes(1), 2);
+
+        Map<Long, UserDto> users = loader.loadAll(List.of(ID_1, ID_2));
+
+        Assertions.assertEquals(Map.of(ID_1, USER_DTO, ID_2, USER_DTO_2), users);
+    }
+
+    @Test
+    void loadAll_Should_FailEveryCaller_When_QueryFails() {
+        QueryTimeoutException failure = new QueryTimeoutException("canceling statement due to statement timeout");
+        given(userRepository.findAllByIds(anyList())).willThrow(failure);
+        loader = loader(true, Duration.ofNanos(200_000), 500);
+
+        Assertions.assertSame(failure,
+                Assertions.assertThrows(QueryTimeoutException.class, () -> loader.loadAll(List.of(ID_1))));
+    }
+
+    @Test
+    void loadAll_Should_ThrowServiceUnavailable_When_BatchTimesOut() {
+        UserLookupProperties properties = new UserLookupProperties();
+        properties.getBatch().setWindow(Duration.ofMinutes(1));
+        properties.getBatch().setTimeout(Duration.ofMillis(50));
+        loader = new UserIdBatchLoader(userRepository, properties, transactionManager, meterRegistry);
+
+        Assertions.assertThrows(ServiceUnavailableException.class, () -> loader.loadAll(List.of(ID_1)));
+    }
+
+    @Test
+    void loadAll_Should_QueryDirectly_When_Disabled() {
+        given(userRepository.findAllByIds(List.of(ID_1))).willReturn(List.of(USER_DTO));
+        loader = loader(false, Duration.ofMinutes(1), 500);
+
+        Assertions.assertEquals(Map.of(ID_1, USER_DTO), loader.loadAll(List.of(ID_1)));
+        then(transactionManager).should(times(1)).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
+    private UserIdBatchLoader loader(boolean enabled, Duration window, int maxSize) {
+        UserLookupProperties properties = new UserLookupProperties();
+        properties.getBatch().setEnabled(enabled);
+        properties.getBatch().setWindow(window);
+        properties.getBatch().setMaxSize(maxSize);
+        return new UserIdBatchLoader(userRepository, properties, transactionManager, meterRegistry);
+    }
+}
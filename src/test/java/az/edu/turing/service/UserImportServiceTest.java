@@ -0,0 +1,168 @@
+package az.edu.turing.service;
+
+import az.edu.turing.cache.UserLookupCoalescer;
+import az.edu.turing.cache.UsernameBloomFilter;
+import az.edu.turing.config.properties.UserImportProperties;
+import az.edu.turing.domain.entity.UserEntity;
+import az.edu.turing.domain.repository.UserRepository;
+import az.edu.turing.exception.InvalidInputException;
+import az.edu.turing.mapper.UserMapper;
+import az.edu.turing.model.dto.response.UserImportReport;
+import az.edu.turing.model.enums.ImportFormat;
+import az.edu.turing.outbox.UserChangeOutbox;
+import az.edu.turing.security.PasswordHasher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static az.edu.turing.constants.TestConstants.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserChangeOutbox changeOutbox;
+
+    @Mock
+    private UsernameBloomFilter usernameFilter;
+
+    @Mock
+    private UserLookupCoalescer lookupCoalescer;
+
+    @Mock
+    private PasswordHasher passwordHasher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final UserImportProperties properties = new UserImportProperties();
+
+    private UserImportService userImportService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(passwordHasher.hashAll(anyList()))
+                .thenAnswer(invocation -> invocation.<List<String>>getArgument(0)
+                        .stream()
+                        .map(password -> "{noop}" + password)
+                        .toList());
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        userImportService = new UserImportService(userRepository, changeOutbox, usernameFilter, lookupCoalescer,
+                passwordHasher, new UserMapper(), Validation.buildDefaultValidatorFactory().getValidator(),
+                new ObjectMapper(), properties, transactionTemplate);
+    }
+
+    @Test
+    void importUsers_Should_InsertValidRows_And_ReportInvalidOnes() throws Exception {
+        String body = """
+                {"username":"%s","password":"%s","confirmPassword":"%s"}
+                {"username":"not-an-email","password":"%s","confirmPassword":"%s"}
+                {"username":"%s","password":"%s","confirmPassword":"Other123!"}
+                {broken
+                """.formatted(USERNAME, PASSWORD, PASSWORD, PASSWORD, PASSWORD, USERNAME_2, PASSWORD);
+        given(userRepository.insertAllIfAbsent(anyList())).willReturn(List.of(USER_ENTITY_1));
+
+        UserImportReport report = userImportService.importUsers(stream(body), ImportFormat.NDJSON);
+
+        Assertions.assertEquals(4, report.getProcessed());
+        Assertions.assertEquals(1, report.getImported());
+        Assertions.assertEquals(3, report.getFailed());
+        Assertions.assertEquals(List.of(2L, 3L, 4L), report.getErrors().stream().map(e -> e.getLine()).toList());
+        Assertions.assertEquals("Passwords do not match", report.getErrors().get(1).getErrorMessage());
+        then(userRepository).should(times(1)).insertAllIfAbsent(anyList());
+        then(changeOutbox).should(times(1)).appendCreated(List.of(USER_ENTITY_1));
+        then(usernameFilter).should(times(1)).add(USERNAME);
+    }
+
+    @Test
+    void importUsers_Should_ReportNullRowAsMalformed() throws Exception {
+        String body = """
+                null
+                {"username":"%s","password":"%s","confirmPassword":"%s"}
+                """.formatted(USERNAME, PASSWORD, PASSWORD);
+        given(userRepository.insertAllIfAbsent(anyList())).willReturn(List.of(USER_ENTITY_1));
+
+        UserImportReport report = userImportService.importUsers(stream(body), ImportFormat.NDJSON);
+
+        Assertions.assertEquals(1, report.getImported());
+        Assertions.assertEquals(1, report.getFailed());
+        Assertions.assertEquals(1L, report.getErrors().getFirst().getLine());
+        Assertions.assertEquals("Malformed row: expected an object", report.getErrors().getFirst().getErrorMessage());
+    }
+
+    @Test
+    void importUsers_Should_ReportExistingUsernames() throws Exception {
+        String body = """
+                username,password,confirmPassword
+                %s,%s,%s
+                %s,%s,%s
+                %s,%s,%s
+                """.formatted(USERNAME, PASSWORD, PASSWORD, USERNAME_2, PASSWORD, PASSWORD,
+                USERNAME, PASSWORD, PASSWORD);
+        given(userRepository.insertAllIfAbsent(anyList())).willReturn(List.of(USER_ENTITY_2));
+
+        UserImportReport report = userImportService.importUsers(stream(body), ImportFormat.CSV);
+
+        Assertions.assertEquals(3, report.getProcessed());
+        Assertions.assertEquals(1, report.getImported());
+        Assertions.assertEquals(2, report.getFailed());
+        Assertions.assertEquals("user already exists with this username " + USERNAME,
+                report.getErrors().getFirst().getErrorMessage());
+    }
+
+    @Test
+    void importUsers_Should_FlushInBatches() throws Exception {
+        properties.setBatchSize(2);
+        String body = """
+                username,password,confirmPassword
+                %s,%s,%s
+                %s,%s,%s
+                %s,%s,%s
+                """.formatted(USERNAME, PASSWORD, PASSWORD, USERNAME_2, PASSWORD, PASSWORD,
+                USERNAME_3, PASSWORD, PASSWORD);
+        given(userRepository.insertAllIfAbsent(anyList()))
+                .willAnswer(invocation -> invocation.<List<UserEntity>>getArgument(0));
+
+        UserImportReport report = userImportService.importUsers(stream(body), ImportFormat.CSV);
+
+        Assertions.assertEquals(3, report.getImported());
+        then(userRepository).should(times(2)).insertAllIfAbsent(anyList());
+        then(changeOutbox).should(times(2)).appendCreated(anyList());
+    }
+
+    @Test
+    void importUsers_Should_ThrowInvalidInputException_When_CsvHeaderMissing() {
+        Assertions.assertThrows(InvalidInputException.class,
+                () -> userImportService.importUsers(stream(""), ImportFormat.CSV));
+
+        then(userRepository).should(never()).insertAllIfAbsent(anyList());
+        then(changeOutbox).shouldHaveNoInteractions();
+    }
+
+    private InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
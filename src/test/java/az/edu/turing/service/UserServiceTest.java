@@ -1,29 +1,57 @@
 package az.edu.turing.service;
 
+import az.edu.turing.cache.UserCache;
+import az.edu.turing.cache.UserLookupCoalescer;
+import az.edu.turing.cache.UsernameBloomFilter;
+import az.edu.turing.config.properties.BulkStatusProperties;
+import az.edu.turing.config.properties.LookupCoalescingProperties;
+import az.edu.turing.config.properties.UserLookupProperties;
 import az.edu.turing.domain.entity.UserEntity;
-import az.edu.turing.domain.repository.PostgresUserRepository;
+import az.edu.turing.domain.repository.UserRepository;
+import az.edu.turing.domain.repository.UserSearchCriteria;
+import az.edu.turing.domain.repository.UserStatusUpdate;
 import az.edu.turing.exception.AlreadyExistsException;
 import az.edu.turing.exception.InvalidInputException;
 import az.edu.turing.exception.NotFoundException;
+import az.edu.turing.exception.PreconditionFailedException;
 import az.edu.turing.mapper.UserMapper;
 import az.edu.turing.model.dto.UserDto;
+import az.edu.turing.model.dto.request.BulkStatusUpdateRequest;
+import az.edu.turing.model.dto.request.UserLookupRequest;
+import az.edu.turing.model.dto.request.UserSearchRequest;
+import az.edu.turing.model.dto.response.BulkStatusUpdateResponse;
+import az.edu.turing.model.dto.response.UserLookupResponse;
+import az.edu.turing.model.dto.response.UserPageResponse;
+import az.edu.turing.model.dto.request.VerifyPasswordRequest;
+import az.edu.turing.model.enums.UserChangeType;
 import az.edu.turing.model.enums.UserStatus;
+import az.edu.turing.outbox.UserChangeOutbox;
+import az.edu.turing.security.PasswordHasher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 
 import static az.edu.turing.constants.TestConstants.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 
@@ -31,41 +59,160 @@ import static org.mockito.Mockito.times;
 class UserServiceTest {
 
     @Mock
-    private PostgresUserRepository userRepository;
+    private UserRepository userRepository;
+
+    @Mock
+    private UserChangeOutbox changeOutbox;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private UserCache userCache;
+
+    @Mock
+    private UsernameBloomFilter usernameFilter;
+
+    @Mock
+    private PasswordHasher passwordHasher;
 
     @Spy
     UserMapper userMapper;
 
+    @Spy
+    BulkStatusProperties bulkStatusProperties = new BulkStatusProperties();
+
+    @Spy
+    UserLookupProperties lookupProperties = new UserLookupProperties();
+
+    @Mock
+    private UserIdBatchLoader idBatchLoader;
+
+    @Mock
+    private UsernameBatchLoader usernameBatchLoader;
+
+    @Spy
+    UserLookupCoalescer lookupCoalescer = new UserLookupCoalescer(new LookupCoalescingProperties(),
+            new SimpleMeterRegistry());
+
     @InjectMocks
     private UserService userService;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
     @Test
     void findAll_Should_ReturnSuccess() {
 
-        given(userRepository.findAll()).willReturn(List.of(USER_ENTITY_1));
+        given(userRepository.findPage(0, 51)).willReturn(List.of(USER_DTO));
+
+        UserPageResponse page = userService.findAll(0, 50);
+        Assertions.assertNotNull(page);
+        Assertions.assertEquals(List.of(USER_DTO), page.getUsers());
+        Assertions.assertNull(page.getNextCursor());
+
+        then(userRepository).should(times(1)).findPage(0, 51);
+    }
+
+    @Test
+    void findAll_Should_ReturnNextCursor_When_MoreUsersExist() {
+
+        given(userRepository.findPage(0, 2))
+                .willReturn(List.of(USER_DTO, UPDATED_USER_DTO));
 
-        Set<UserDto> users = userService.findAll();
-        Assertions.assertNotNull(users);
-        Assertions.assertFalse(users.isEmpty());
-        Assertions.assertEquals(Set.of(USER_DTO), users);
+        UserPageResponse page = userService.findAll(0, 1);
+        Assertions.assertEquals(List.of(USER_DTO), page.getUsers());
+        Assertions.assertEquals(ID_1, page.getNextCursor());
+    }
+
+    @Test
+    void search_Should_PassFiltersAndReturnNextCursor() {
+        UserSearchRequest request = UserSearchRequest.builder()
+                .usernameContains("root")
+                .status(UserStatus.ACTIVATE)
+                .build();
+        UserSearchCriteria criteria = new UserSearchCriteria(null, "root", UserStatus.ACTIVATE);
+        given(userRepository.search(criteria, 0, 2)).willReturn(List.of(USER_DTO, UPDATED_USER_DTO));
 
-        then(userRepository).should(times(1)).findAll();
+        UserPageResponse page = userService.search(request, 0, 1);
+        Assertions.assertEquals(List.of(USER_DTO), page.getUsers());
+        Assertions.assertEquals(ID_1, page.getNextCursor());
+
+        then(userRepository).should(times(1)).search(criteria, 0, 2);
     }
 
     @Test
     void findByUsername_Should_ReturnSuccess() {
-        given(userRepository.findByUsername(USERNAME)).willReturn(Optional.of(USER_ENTITY_1));
+        given(usernameBatchLoader.load(USERNAME)).willReturn(Optional.of(USER_DTO));
 
         UserDto result = userService.findByUsername(USERNAME);
         Assertions.assertNotNull(result);
         Assertions.assertEquals(USER_DTO, result);
 
-        then(userRepository).should(times(1)).findByUsername(USERNAME);
+        then(lookupCoalescer).should(times(1)).findUserByUsername(eq(USERNAME), any());
+        then(usernameBatchLoader).should(times(1)).load(USERNAME);
+        then(userCache).should(times(1)).put(USER_DTO);
+    }
+
+    @Test
+    void findByUsername_Should_ReturnCachedUser_When_Cached() {
+        given(userCache.findByUsername(USERNAME)).willReturn(Optional.of(USER_DTO));
+
+        UserDto result = userService.findByUsername(USERNAME);
+        Assertions.assertEquals(USER_DTO, result);
+
+        then(usernameBatchLoader).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void lookup_Should_CombineCacheBatchedIdsAndUsernames() {
+        given(userCache.findById(ID_1)).willReturn(Optional.of(USER_DTO));
+        given(userCache.findById(ID_3)).willReturn(Optional.empty());
+        given(userCache.findByUsername(anyString())).willReturn(Optional.empty());
+        given(idBatchLoader.loadAll(List.of(ID_3))).willReturn(Map.of());
+        given(usernameFilter.isDefinitelyAbsent(USERNAME)).willReturn(false);
+        given(usernameFilter.isDefinitelyAbsent(USERNAME_2)).willReturn(false);
+        given(usernameFilter.isDefinitelyAbsent(USERNAME_3)).willReturn(true);
+        given(usernameBatchLoader.loadAll(List.of(USERNAME_2, USERNAME))).willReturn(Map.of(USERNAME_2, USER_DTO_2));
+
+        UserLookupResponse result = userService.lookup(UserLookupRequest.builder()
+                .ids(List.of(ID_1, ID_3, ID_1))
+                .usernames(List.of(USERNAME_2, USERNAME, USERNAME_3))
+                .build());
+
+        Assertions.assertEquals(List.of(USER_DTO, USER_DTO_2), result.getUsers());
+        Assertions.assertEquals(List.of(ID_3), result.getMissingIds());
+        Assertions.assertEquals(List.of(USERNAME, USERNAME_3), result.getMissingUsernames());
+        then(userCache).should(times(1)).put(USER_DTO_2);
+    }
+
+    @Test
+    void lookup_Should_ThrowInvalidInputException_When_TooManyKeys() {
+        lookupProperties.setMaxKeys(2);
+
+        InvalidInputException exception = Assertions.assertThrows(InvalidInputException.class,
+                () -> userService.lookup(UserLookupRequest.builder()
+                        .ids(List.of(ID_1, ID_2))
+                        .usernames(List.of(USERNAME))
+                        .build()));
+
+        Assertions.assertEquals("At most 2 ids and usernames can be looked up at once", exception.getMessage());
+        then(idBatchLoader).shouldHaveNoInteractions();
+        then(usernameBatchLoader).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void lookup_Should_ThrowInvalidInputException_When_NothingRequested() {
+        Assertions.assertThrows(InvalidInputException.class,
+                () -> userService.lookup(new UserLookupRequest()));
     }
 
     @Test
     void findByUsername_Should_ThrowNotFoundException_When_UsernameNotFound() {
-        given(userRepository.findByUsername(USERNAME)).willReturn(Optional.empty());
+        given(usernameBatchLoader.load(USERNAME)).willReturn(Optional.empty());
 
         NotFoundException exception = Assertions.assertThrows(
                 NotFoundException.class,
@@ -73,31 +220,48 @@ class UserServiceTest {
         );
 
         Assertions.assertEquals("There is not user with username " + USERNAME, exception.getMessage());
-        then(userRepository).should(times(1)).findByUsername(USERNAME);
+        then(usernameBatchLoader).should(times(1)).load(USERNAME);
+    }
+
+    @Test
+    void findByUsername_Should_SkipRepository_When_FilterSaysAbsent() {
+        given(usernameFilter.isDefinitelyAbsent(USERNAME)).willReturn(true);
+
+        Assertions.assertThrows(NotFoundException.class, () -> userService.findByUsername(USERNAME));
+
+        then(usernameBatchLoader).shouldHaveNoInteractions();
     }
 
     @Test
     void create_Should_ReturnSuccess() {
 
-        given(userRepository.save(userMapper.toEntity(CREATE_USER_REQUEST))).willReturn(USER_ENTITY_1);
+        given(passwordHasher.hash(PASSWORD)).willReturn(PASSWORD_HASH);
+        given(userRepository.insertIfAbsent(userMapper.toEntity(CREATE_USER_REQUEST, PASSWORD_HASH)))
+                .willReturn(Optional.of(USER_ENTITY_1));
 
         UserDto result = userService.create(CREATE_USER_REQUEST);
         Assertions.assertNotNull(result);
         Assertions.assertEquals(USER_DTO, result);
 
-        then(userRepository).should(times(1)).save(userMapper.toEntity(CREATE_USER_REQUEST));
+        then(userRepository).should(times(1))
+                .insertIfAbsent(userMapper.toEntity(CREATE_USER_REQUEST, PASSWORD_HASH));
+        then(userRepository).shouldHaveNoMoreInteractions();
+        then(changeOutbox).should(times(1))
+                .append(UserChangeType.CREATED, ID_1, USERNAME, USER_ENTITY_1.getStatus());
+        then(usernameFilter).should(times(1)).add(USERNAME);
     }
 
     @Test
     void create_Should_ThrowAlreadyExistsException_When_UserAlreadyExists() {
 
-        given(userRepository.existsByUsername(USERNAME)).willReturn(true);
+        given(userRepository.insertIfAbsent(any())).willReturn(Optional.empty());
 
         AlreadyExistsException exception = Assertions.assertThrows(AlreadyExistsException.class,
                 () -> userService.create(CREATE_USER_REQUEST));
         Assertions.assertEquals("user already exists with this username " + USERNAME, exception.getMessage());
 
-        then(userRepository).should(never()).save(any());
+        then(userRepository).should(times(1)).insertIfAbsent(any());
+        then(changeOutbox).shouldHaveNoInteractions();
     }
 
     @Test
@@ -110,58 +274,90 @@ class UserServiceTest {
         );
         Assertions.assertEquals("Passwords do not match", exception.getMessage());
 
-        then(userRepository).should(never()).save(any());
-//        then(userRepository).should(never()).existsByUsername(anyString());
+        then(userRepository).shouldHaveNoInteractions();
+        then(passwordHasher).shouldHaveNoInteractions();
     }
 
     @Test
     void update_Should_ReturnSuccess() {
 
-        given(userRepository.findById(ID_1)).willReturn(Optional.of(USER_ENTITY_1));
-        given(userRepository.existsByUsername(UPDATED_USERNAME)).willReturn(false);
-        given(userRepository.save(any())).willReturn(UPDATED_USER_ENTITY);
+        given(passwordHasher.hash(UPDATED_PASSWORD)).willReturn(UPDATED_PASSWORD_HASH);
+        given(userRepository.update(ID_1, UPDATED_USERNAME, UPDATED_PASSWORD_HASH, null))
+                .willReturn(Optional.of(UPDATED_USER_ENTITY));
 
-        UserDto result = userService.update(ID_1, UPDATE_USER_REQUEST);
+        UserDto result = userService.update(ID_1, UPDATE_USER_REQUEST, null);
 
         Assertions.assertNotNull(result);
-        Assertions.assertEquals(UPDATED_USERNAME, result.getUsername());
-        Assertions.assertEquals(UPDATED_USER_ENTITY, userMapper.toEntity(result));
-
-        then(userRepository).should(times(1)).findById(ID_1);
-        then(userRepository).should(times(1)).save(UPDATED_USER_ENTITY);
+        Assertions.assertEquals(UPDATED_USERNAME, result.username());
+        Assertions.assertEquals(userMapper.toDto(UPDATED_USER_ENTITY), result);
+
+        then(userRepository).should(times(1)).update(ID_1, UPDATED_USERNAME, UPDATED_PASSWORD_HASH, null);
+        then(userRepository).shouldHaveNoMoreInteractions();
+        then(changeOutbox).should(times(1))
+                .append(UserChangeType.UPDATED, ID_1, UPDATED_USERNAME, UPDATED_USER_ENTITY.getStatus());
+        then(userCache).should(times(1)).put(result);
+        then(lookupCoalescer).should(times(1)).invalidateAll();
     }
 
     @Test
-    void updateUser_Should_ThrowAlreadyExistsException_When_UserNotFound() {
+    void updateUser_Should_ThrowNotFoundException_When_UserNotFound() {
 
-        given(userRepository.findById(ID_1)).willReturn(Optional.empty());
+        given(passwordHasher.hash(UPDATED_PASSWORD)).willReturn(UPDATED_PASSWORD_HASH);
+        given(userRepository.update(ID_1, UPDATED_USERNAME, UPDATED_PASSWORD_HASH, null)).willReturn(Optional.empty());
 
         NotFoundException exception = Assertions.assertThrows(NotFoundException.class,
-                () -> userService.update(ID_1, UPDATE_USER_REQUEST)
+                () -> userService.update(ID_1, UPDATE_USER_REQUEST, null)
         );
 
         Assertions.assertEquals("There is not user with id " + ID_1, exception.getMessage());
-
-        then(userRepository).should(times(1)).findById(ID_1);
-        then(userRepository).should(never()).existsByUsername(UPDATED_USERNAME);
-        then(userRepository).should(never()).save(UPDATED_USER_ENTITY);
     }
 
     @Test
     void updateUser_Should_ThrowAlreadyExistsException_When_UsernameAlreadyExists() {
 
-        given(userRepository.findById(ID_1)).willReturn(Optional.of(USER_ENTITY_1));
-        given(userRepository.existsByUsername(UPDATED_USERNAME)).willReturn(true);
+        given(passwordHasher.hash(UPDATED_PASSWORD)).willReturn(UPDATED_PASSWORD_HASH);
+        given(userRepository.update(ID_1, UPDATED_USERNAME, UPDATED_PASSWORD_HASH, null))
+                .willThrow(new DuplicateKeyException("duplicate key value violates unique constraint"));
 
         AlreadyExistsException exception = Assertions.assertThrows(AlreadyExistsException.class,
-                () -> userService.update(ID_1, UPDATE_USER_REQUEST)
+                () -> userService.update(ID_1, UPDATE_USER_REQUEST, null)
         );
 
         Assertions.assertEquals("user already exists with this username " + UPDATED_USERNAME, exception.getMessage());
+        then(changeOutbox).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void updateUser_Should_ThrowPreconditionFailedException_When_VersionIsStale() {
+
+        given(passwordHasher.hash(UPDATED_PASSWORD)).willReturn(UPDATED_PASSWORD_HASH);
+        given(userRepository.update(ID_1, UPDATED_USERNAME, UPDATED_PASSWORD_HASH, VERSION))
+                .willThrow(new OptimisticLockingFailureException("User 1 is no longer at version 0"));
+
+        PreconditionFailedException exception = Assertions.assertThrows(PreconditionFailedException.class,
+                () -> userService.update(ID_1, UPDATE_USER_REQUEST, VERSION)
+        );
+
+        Assertions.assertEquals("User " + ID_1 + " is no longer at version " + VERSION, exception.getMessage());
+        then(changeOutbox).shouldHaveNoInteractions();
+        then(userCache).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void verifyPassword_Should_ReturnValid_When_PasswordMatches() {
+        given(userRepository.findByUsername(USERNAME)).willReturn(Optional.of(USER_ENTITY_1));
+        given(passwordHasher.verify(PASSWORD, USER_ENTITY_1.getPassword())).willReturn(true);
+
+        Assertions.assertTrue(userService.verifyPassword(new VerifyPasswordRequest(USERNAME, PASSWORD)).isValid());
+    }
+
+    @Test
+    void verifyPassword_Should_SpendDummyVerification_When_UserNotFound() {
+        given(userRepository.findByUsername(USERNAME)).willReturn(Optional.empty());
+
+        Assertions.assertFalse(userService.verifyPassword(new VerifyPasswordRequest(USERNAME, PASSWORD)).isValid());
 
-        then(userRepository).should(times(1)).findById(ID_1);
-        then(userRepository).should(times(1)).existsByUsername(UPDATED_USERNAME);
-        then(userRepository).should(never()).save(UPDATED_USER_ENTITY);
+        then(passwordHasher).should(times(1)).verifyAgainstDummy(PASSWORD);
     }
 
     @Test
@@ -174,59 +370,137 @@ class UserServiceTest {
                 .status(UserStatus.INACTIVATE)
                 .build();
 
-        given(userRepository.findById(ID_2)).willReturn(Optional.of(USER_ENTITY_2));
-        given(userRepository.save(any())).willReturn(updatedUserEntity);
+        given(userRepository.updateStatus(ID_2, UserStatus.INACTIVATE, null))
+                .willReturn(Optional.of(new UserStatusUpdate(updatedUserEntity, true)));
 
-        UserDto result = userService.updateStatus(ID_2, UserStatus.INACTIVATE);
+        UserDto result = userService.updateStatus(ID_2, UserStatus.INACTIVATE, null);
 
         Assertions.assertNotNull(result);
-        Assertions.assertEquals(UserStatus.INACTIVATE, result.getStatus());
+        Assertions.assertEquals(UserStatus.INACTIVATE, result.status());
+
+        then(userRepository).should(times(1)).updateStatus(ID_2, UserStatus.INACTIVATE, null);
+        then(userRepository).shouldHaveNoMoreInteractions();
+        then(changeOutbox).should(times(1)).append(UserChangeType.STATUS_CHANGED, ID_2, null, UserStatus.INACTIVATE);
+    }
+
+    @Test
+    void updateStatus_Should_WriteNoEvent_When_StatusUnchanged() {
+        given(userRepository.updateStatus(ID_1, STATUS, null))
+                .willReturn(Optional.of(new UserStatusUpdate(USER_ENTITY_1, false)));
+
+        UserDto result = userService.updateStatus(ID_1, STATUS, null);
+
+        Assertions.assertEquals(STATUS, result.status());
+        then(changeOutbox).shouldHaveNoInteractions();
+    }
 
-        then(userRepository).should(times(1)).findById(ID_2);
-        then(userRepository).should(times(1)).save(any());
+    @Test
+    void updateStatus_Should_ThrowPreconditionFailedException_When_VersionIsStale() {
+
+        given(userRepository.updateStatus(ID_2, UserStatus.INACTIVATE, VERSION))
+                .willThrow(new OptimisticLockingFailureException("User 2 is no longer at version 0"));
+
+        Assertions.assertThrows(PreconditionFailedException.class,
+                () -> userService.updateStatus(ID_2, UserStatus.INACTIVATE, VERSION)
+        );
+
+        then(changeOutbox).shouldHaveNoInteractions();
     }
 
     @Test
     void updateStatus_Should_ThrowsNotFoundException_When_UserNotFound() {
 
-        given(userRepository.findById(ID_3)).willReturn(Optional.empty());
+        given(userRepository.updateStatus(ID_3, UserStatus.INACTIVATE, null)).willReturn(Optional.empty());
 
         NotFoundException exception = Assertions.assertThrows(NotFoundException.class,
-                () -> userService.updateStatus(ID_3, UserStatus.INACTIVATE)
+                () -> userService.updateStatus(ID_3, UserStatus.INACTIVATE, null)
         );
 
         Assertions.assertEquals("There is not user with id " + ID_3, exception.getMessage());
-
-        then(userRepository).should(times(1)).findById(ID_3);
-        then(userRepository).should(never()).save(any());
     }
 
     @Test
     void deleteById_Should_ReturnSuccess() {
 
-        given(userRepository.findById(ID_3)).willReturn(Optional.of(USER_ENTITY_3));
-        given(userRepository.existsById(ID_3)).willReturn(true);
+        given(userRepository.deleteById(ID_3)).willReturn(Optional.of(USER_ENTITY_3));
 
         userService.deleteById(ID_3);
-        Assertions.assertEquals(UserStatus.DELETED, USER_ENTITY_3.getStatus());
 
-        then(userRepository).should(times(1)).findById(ID_3);
-        then(userRepository).should(times(1)).save(USER_ENTITY_3);
+        then(userRepository).should(times(1)).deleteById(ID_3);
+        then(userRepository).shouldHaveNoMoreInteractions();
+        then(changeOutbox).should(times(1)).append(UserChangeType.DELETED, ID_3, null, UserStatus.DELETED);
+        then(userCache).should(times(1)).put(userMapper.toDto(USER_ENTITY_3));
     }
 
     @Test
     void deleteById_Should_ThrowUserNotFoundException() {
 
-        given(userRepository.existsById(ID_3)).willReturn(false);
+        given(userRepository.deleteById(ID_3)).willReturn(Optional.empty());
 
         NotFoundException exception = Assertions.assertThrows(NotFoundException.class,
                 () -> userService.deleteById(ID_3)
         );
         Assertions.assertEquals("There is not user with id " + ID_3, exception.getMessage());
 
-        then(userRepository).should(never()).save(any());
-        then(userRepository).should(never()).findById(ID_3);
-        then(userRepository).should(times(1)).existsById(ID_3);
+        then(userRepository).should(times(1)).deleteById(ID_3);
+        then(changeOutbox).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void updateStatuses_Should_UpdateIdsInChunks_And_CacheChangedUsers() {
+        bulkStatusProperties.setChunkSize(2);
+        BulkStatusUpdateRequest request = BulkStatusUpdateRequest.builder()
+                .status(UserStatus.DELETED)
+                .ids(List.of(ID_1, ID_2, ID_3, ID_1))
+                .build();
+
+        given(userRepository.updateStatusByIds(List.of(ID_1, ID_2), UserStatus.DELETED))
+                .willReturn(List.of(USER_DTO, USER_DTO_2));
+        given(userRepository.updateStatusByIds(List.of(ID_3), UserStatus.DELETED)).willReturn(List.of());
+
+        BulkStatusUpdateResponse result = userService.updateStatuses(request);
+
+        Assertions.assertEquals(3, result.getRequested());
+        Assertions.assertEquals(2, result.getUpdated());
+        then(userCache).should().put(USER_DTO);
+        then(userCache).should().put(USER_DTO_2);
+        then(userCache).should(never()).put(USER_DTO_3);
+        then(changeOutbox).should().appendAll(UserChangeType.STATUS_CHANGED, List.of(ID_1, ID_2), UserStatus.DELETED);
+        then(changeOutbox).should().appendAll(UserChangeType.STATUS_CHANGED, List.of(), UserStatus.DELETED);
     }
-}
 
+    @Test
+    void updateStatuses_Should_RepeatChunks_Until_NoUserMatchesCurrentStatus() {
+        BulkStatusUpdateRequest request = BulkStatusUpdateRequest.builder()
+                .status(UserStatus.DELETED)
+                .currentStatus(UserStatus.INACTIVATE)
+                .build();
+
+        given(userRepository.updateStatusByStatus(UserStatus.INACTIVATE, UserStatus.DELETED, 1_000))
+                .willReturn(List.of(USER_DTO, USER_DTO_2))
+                .willReturn(List.of(USER_DTO_3))
+                .willReturn(List.of());
+
+        BulkStatusUpdateResponse result = userService.updateStatuses(request);
+
+        Assertions.assertNull(result.getRequested());
+        Assertions.assertEquals(3, result.getUpdated());
+        then(userRepository).should(times(3)).updateStatusByStatus(UserStatus.INACTIVATE, UserStatus.DELETED, 1_000);
+        then(userCache).should().put(USER_DTO_3);
+    }
+
+    @Test
+    void updateStatuses_Should_ThrowInvalidInputException_When_BothIdsAndFilterGiven() {
+        BulkStatusUpdateRequest request = BulkStatusUpdateRequest.builder()
+                .status(UserStatus.DELETED)
+                .ids(List.of(ID_1))
+                .currentStatus(UserStatus.INACTIVATE)
+                .build();
+
+        InvalidInputException exception = Assertions.assertThrows(InvalidInputException.class,
+                () -> userService.updateStatuses(request)
+        );
+        Assertions.assertEquals("Exactly one of ids or currentStatus must be given", exception.getMessage());
+        then(userRepository).shouldHaveNoInteractions();
+    }
+}